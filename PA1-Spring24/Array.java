@@ -1,7 +1,7 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.util.Arrays;
 
+import common.IntReader;
+
 public class Array {
 	private int[] array;// the underlying array
 	private int accessCount;// counts the number of times the array is accessed
@@ -11,23 +11,17 @@ public class Array {
 	public Array(String fn) {
 		this.accessCount = 0;
 		int n = 0;
-		BufferedReader br;
-		try {
-			br = new BufferedReader(new FileReader(fn));
-			String line = br.readLine();
-			if (line != null) {
-				n = Integer.parseInt(line);
+		// the first integer is the number of items, followed by the items
+		try (IntReader in = new IntReader(fn)) {
+			if (in.hasNext()) {
+				n = in.next();
 			}
-			line = br.readLine();
 			int i = 0;
 			array = new int[n];
-			while (line != null && i < n) {
-				int num = Integer.parseInt(line);
-				array[i] = num;
-				line = br.readLine();
+			while (in.hasNext() && i < n) {
+				array[i] = in.next();
 				i++;
 			}
-			br.close();
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
@@ -75,6 +69,27 @@ public class Array {
 		accessCount += 4;
 	}
 
+	// copies <len> values from <src> starting at <srcPos> into <dst> starting at
+	// <dstPos> (like System.arraycopy, the ranges may overlap); every value counts
+	// as one read of <src> and one write of <dst>
+	public static void copyRange(Array src, int srcPos, Array dst, int dstPos, int len) {
+		System.arraycopy(src.array, srcPos, dst.array, dstPos, len);
+		src.accessCount += len;
+		dst.accessCount += len;
+	}
+
+	// sets every value in [from, to) to val
+	public void fill(int from, int to, int val) {
+		Arrays.fill(array, from, to, val);
+		accessCount += to - from;
+	}
+
+	// reads the values starting at <from> into <out>, one read per value
+	public void readRange(int from, int[] out) {
+		System.arraycopy(array, from, out, 0, out.length);
+		accessCount += out.length;
+	}
+
 	// returns the accessCount
 	public int getAccessCount() {
 		return accessCount;
@@ -0,0 +1,92 @@
+/**
+ * This class is the Vector API version of ResidueKernel. The remainders of a
+ * whole vector of values are computed at once without any division. Each int
+ * vector is viewed as a vector of longs holding two values each, and both
+ * halves are reduced with a precomputed reciprocal M = ceil(2^32 / m): the
+ * quotient (x * M) >>> 32 is either exact or one too large, so the remainder
+ * x - q * m needs at most one correction. The remainders of the whole batch
+ * are stored first and counted afterwards in one plain loop, so the vector
+ * loop does not stall on the histogram stores.
+ *
+ * This class needs the incubator module, so it is kept out of src and is only
+ * loaded by reflection. Compile it after the rest of the project with
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/part1/*.java
+ * and run with --add-modules jdk.incubator.vector. Use ResidueKernel.create to
+ * get it.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: VectorResidueKernel.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+public class VectorResidueKernel extends ResidueKernel {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+	private static final long LOW_32 = 0xFFFFFFFFL;
+
+	private final long reciprocal; // ceil(2^32 / m)
+	private int[] residues = new int[0]; // the remainders of the current batch
+
+	/**
+	 * Creates a vector kernel.
+	 *
+	 * @param m The modulus used for calculating the remainder.
+	 */
+	public VectorResidueKernel(int m) {
+		super(m);
+		this.reciprocal = ((1L << 32) + m - 1) / m;
+	}
+
+	@Override
+	public void add(int[] batch, int len) {
+		if (residues.length < len) {
+			residues = new int[len];
+		}
+		int lanes = SPECIES.length();
+		int bound = SPECIES.loopBound(len);
+		int i = 0;
+
+		for (; i < bound; i += lanes) {
+			IntVector x = IntVector.fromArray(SPECIES, batch, i);
+			if (x.compare(VectorOperators.LT, 0).anyTrue()) {
+				// negative values are left to the scalar path, which fails like % would
+				break;
+			}
+			// every long lane holds two values, reduce the low and the high one
+			LongVector pairs = x.reinterpretAsLongs();
+			LongVector low = reduce(pairs.and(LOW_32));
+			LongVector high = reduce(pairs.lanewise(VectorOperators.LSHR, 32));
+			low.or(high.lanewise(VectorOperators.LSHL, 32)).reinterpretAsInts().intoArray(residues, i);
+		}
+		for (int k = 0; k < i; k++) {
+			hist[residues[k]]++;
+		}
+		addScalar(batch, i, len);
+	}
+
+	/**
+	 * Computes x % m for every lane, where every x is between 0 and 2^31 - 1.
+	 *
+	 * @param x The values to reduce.
+	 * @return The remainders.
+	 */
+	private LongVector reduce(LongVector x) {
+		LongVector q = x.mul(reciprocal).lanewise(VectorOperators.LSHR, 32);
+		LongVector r = x.sub(q.mul(m));
+		// the quotient may be one too large
+		return r.add(m, r.compare(VectorOperators.LT, 0));
+	}
+
+	@Override
+	public boolean isVectorized() {
+		return true;
+	}
+}
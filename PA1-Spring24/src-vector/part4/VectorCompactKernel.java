@@ -0,0 +1,115 @@
+package part4;
+
+/**
+ * This class is the Vector API version of CompactKernel. The values before the
+ * first zero stay where they are, so they are only scanned with a vector
+ * compare and never stored; an input without zeroes is left untouched. After
+ * that, every vector is loaded and its non-zero lanes are packed to the front,
+ * in order. The full vector is stored at the next free position and the
+ * position advances by the number of non-zero lanes, so the lanes after them
+ * are overwritten by the next store or by the final zero fill. Since the next
+ * free position never passes the load position, the store only covers values
+ * that were already loaded. A vector without zeroes is stored as it is, and a
+ * vector of zeroes is skipped.
+ *
+ * Vector.compress cannot be used (see VectorSupport for the JDK 17 constraint),
+ * so the packing is done with a rearrange through a table holding one shuffle
+ * per mask. To keep the table small, at most 8 lanes are used. The mask bits
+ * are summed from a vector of lane bits rather than read with
+ * VectorMask.toLong, which JDK 17 does not compile to a single instruction.
+ *
+ * This class needs the incubator module, so it is kept out of src and is only
+ * loaded by reflection. Compile it after the rest of the project with
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/part4/*.java
+ * and run with --add-modules jdk.incubator.vector. Use CompactKernel.create to
+ * get it.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: VectorCompactKernel.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+public class VectorCompactKernel extends CompactKernel {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED.length() >= 8
+			? IntVector.SPECIES_256
+			: IntVector.SPECIES_128;
+	private static final int LANES = SPECIES.length();
+	private static final int ALL_LANES = (1 << LANES) - 1;
+	// SHUFFLES[bits] moves the lanes set in bits to the front, in order
+	private static final VectorShuffle<Integer>[] SHUFFLES = buildShuffles();
+	// lane i holds 1 << i, the non-zero lanes are summed to get the mask bits
+	private static final IntVector LANE_BITS = IntVector.fromArray(SPECIES, laneBits(), 0);
+
+	@Override
+	public int pushZeroes(int[] vals) {
+		int bound = SPECIES.loopBound(vals.length);
+		int i = 0;
+
+		// nothing moves before the first zero
+		while (i < bound && !IntVector.fromArray(SPECIES, vals, i).compare(VectorOperators.EQ, 0).anyTrue()) {
+			i += LANES;
+		}
+		int write = i;
+
+		for (; i < bound; i += LANES) {
+			IntVector v = IntVector.fromArray(SPECIES, vals, i);
+			VectorMask<Integer> zero = v.compare(VectorOperators.EQ, 0);
+			if (!zero.anyTrue()) {
+				v.intoArray(vals, write);
+				write += LANES;
+			} else if (!zero.allTrue()) {
+				int bits = LANE_BITS.blend(0, zero).reduceLanes(VectorOperators.ADD);
+				v.rearrange(SHUFFLES[bits]).intoArray(vals, write);
+				write += Integer.bitCount(bits);
+			}
+		}
+		write = compactScalar(vals, write, i, vals.length);
+		Arrays.fill(vals, write, vals.length, 0);
+		return write;
+	}
+
+	private static int[] laneBits() {
+		int[] bits = new int[LANES];
+		for (int lane = 0; lane < LANES; lane++) {
+			bits[lane] = 1 << lane;
+		}
+		return bits;
+	}
+
+	@SuppressWarnings("unchecked") // an array of VectorShuffle<Integer> cannot be created directly
+	private static VectorShuffle<Integer>[] buildShuffles() {
+		VectorShuffle<Integer>[] shuffles = (VectorShuffle<Integer>[]) new VectorShuffle<?>[ALL_LANES + 1];
+		int[] order = new int[LANES];
+		for (int bits = 0; bits <= ALL_LANES; bits++) {
+			int k = 0;
+			for (int lane = 0; lane < LANES; lane++) {
+				if ((bits & (1 << lane)) != 0) {
+					order[k++] = lane;
+				}
+			}
+			// the remaining lanes are don't-cares
+			while (k < LANES) {
+				order[k++] = 0;
+			}
+			shuffles[bits] = VectorShuffle.fromArray(SPECIES, order, 0);
+		}
+		return shuffles;
+	}
+
+	@Override
+	public boolean isVectorized() {
+		return true;
+	}
+}
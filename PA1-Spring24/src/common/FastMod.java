@@ -0,0 +1,63 @@
+package common;
+
+/**
+ * This class computes x % d for a fixed divisor d without a division
+ * instruction. The reciprocal of d is computed once in the constructor, after
+ * which every remainder takes a few multiplications and shifts (Lemire's
+ * "fastmod" reduction). This makes it cheap to reduce the same value by several
+ * divisors.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: FastMod.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+public class FastMod {
+	private static final long LOW_32 = 0xFFFFFFFFL;
+
+	private final int d; // the divisor
+	private final long m; // ceil(2^64 / d), as an unsigned 64-bit value
+
+	/**
+	 * Precomputes the reciprocal of the divisor.
+	 *
+	 * @param d The divisor, must be positive.
+	 */
+	public FastMod(int d) {
+		if (d <= 0) {
+			throw new IllegalArgumentException("Divisor must be positive: " + d);
+		}
+		this.d = d;
+		this.m = Long.divideUnsigned(-1L, d) + 1;
+	}
+
+	/**
+	 * Gets the divisor.
+	 *
+	 * @return The divisor.
+	 */
+	public int divisor() {
+		return d;
+	}
+
+	/**
+	 * Computes x % d. Negative values are reduced with the % operator so the result
+	 * is always the same as x % d.
+	 *
+	 * @param x The value to reduce.
+	 * @return x % d
+	 */
+	public int mod(int x) {
+		if (x < 0) {
+			return x % d;
+		}
+		// the remainder is the high 64 bits of the (fractional part of x / d) * d
+		long lowbits = m * x;
+		long hi = (lowbits >>> 32) * d;
+		long lo = ((lowbits & LOW_32) * d) >>> 32;
+		return (int) ((hi + lo) >>> 32);
+	}
+}
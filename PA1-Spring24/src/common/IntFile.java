@@ -0,0 +1,209 @@
+package common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * This class describes a compact binary container for a sequence of integers
+ * and converts text files of integers into it. The file starts with a 24-byte
+ * little-endian header:
+ *
+ * bytes 0-3 the magic "INTB", bytes 4-7 the flags (bit 0 set for varint mode),
+ * bytes 8-15 the number of integers, bytes 16-23 the CRC32C of the payload.
+ *
+ * The payload follows the header. It holds every integer as a fixed-width
+ * 4-byte little-endian int or, in varint mode, zigzag-encoded in 1 to 5 bytes
+ * of 7 bits each (low bits first, high bit set on all but the last byte).
+ *
+ * The payload holds exactly the integers of the text file in order (for an
+ * Array file, that includes the leading count), so IntReader, which detects
+ * the format from the magic, returns the same integers for either file.
+ *
+ * Usage: java common.IntFile [-varint] input.txt output.bin
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: IntFile.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+public class IntFile {
+	/** The first 4 bytes of a binary file, "INTB" in little-endian order. */
+	public static final int MAGIC = 0x42544E49;
+	/** The flag set in varint mode. */
+	public static final int VARINT = 1;
+	/** The size of the header in bytes. */
+	public static final int HEADER_SIZE = 24;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	public static void main(String[] args) throws IOException {
+		boolean varint = args.length > 0 && args[0].equals("-varint");
+		int first = varint ? 1 : 0;
+		if (args.length - first != 2) {
+			System.out.println("Usage: java common.IntFile [-varint] input.txt output.bin");
+			return;
+		}
+		long count = convert(args[first], args[first + 1], varint);
+		System.out.println("Wrote " + count + " integers to " + args[first + 1]);
+	}
+
+	/**
+	 * Checks if a file starts with the binary header.
+	 *
+	 * @param fn The file name.
+	 * @return true if the file is a binary integer file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static boolean isBinary(String fn) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fn), StandardOpenOption.READ)) {
+			return readHeader(channel) != null;
+		}
+	}
+
+	/**
+	 * Reads the header at the start of a file.
+	 *
+	 * @param channel The channel of the file.
+	 * @return The header, positioned after the magic, or null if the file does
+	 *         not start with the magic.
+	 * @throws IOException if the file cannot be read or the header is cut short.
+	 */
+	static ByteBuffer readHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) <= 0) {
+				break;
+			}
+		}
+		header.flip();
+		if (header.remaining() < 4 || header.getInt() != MAGIC) {
+			return null;
+		}
+		if (header.remaining() < HEADER_SIZE - 4) {
+			throw new IOException("Truncated header");
+		}
+		return header;
+	}
+
+	/**
+	 * Converts a text file of integers into a binary file. The integers are
+	 * streamed, and the header is written last, once the count and checksum are
+	 * known.
+	 *
+	 * @param textFn   The text file to read.
+	 * @param binaryFn The binary file to write.
+	 * @param varint   true to write varints, false for fixed-width ints.
+	 * @return The number of integers written.
+	 * @throws IOException if a file cannot be read or written.
+	 */
+	public static long convert(String textFn, String binaryFn, boolean varint) throws IOException {
+		try (IntReader in = new IntReader(textFn); Writer out = new Writer(binaryFn, varint)) {
+			while (in.hasNext()) {
+				out.write(in.next());
+			}
+			return out.count;
+		}
+	}
+
+	/**
+	 * Writes the given integers to a binary file.
+	 *
+	 * @param fn     The binary file to write.
+	 * @param values The integers.
+	 * @param varint true to write varints, false for fixed-width ints.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void write(String fn, int[] values, boolean varint) throws IOException {
+		try (Writer out = new Writer(fn, varint)) {
+			for (int v : values) {
+				out.write(v);
+			}
+		}
+	}
+
+	/**
+	 * Streams integers into a binary file.
+	 */
+	public static class Writer implements AutoCloseable {
+		private final FileChannel channel;
+		private final boolean varint;
+		private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		private final CRC32C crc = new CRC32C();
+		private long count;
+
+		/**
+		 * Creates (or truncates) the file and leaves room for the header.
+		 *
+		 * @param fn     The binary file to write.
+		 * @param varint true to write varints, false for fixed-width ints.
+		 * @throws IOException if the file cannot be created.
+		 */
+		public Writer(String fn, boolean varint) throws IOException {
+			this.channel = FileChannel.open(Paths.get(fn), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+			this.channel.position(HEADER_SIZE);
+			this.varint = varint;
+		}
+
+		/**
+		 * Appends one integer.
+		 *
+		 * @param v The integer.
+		 * @throws IOException if the file cannot be written.
+		 */
+		public void write(int v) throws IOException {
+			if (buf.remaining() < 5) {
+				flush();
+			}
+			if (varint) {
+				int z = (v << 1) ^ (v >> 31); // zigzag, so small negatives stay short
+				while ((z & ~0x7F) != 0) {
+					buf.put((byte) ((z & 0x7F) | 0x80));
+					z >>>= 7;
+				}
+				buf.put((byte) z);
+			} else {
+				buf.putInt(v);
+			}
+			count++;
+		}
+
+		private void flush() throws IOException {
+			buf.flip();
+			crc.update(buf.duplicate());
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+			buf.clear();
+		}
+
+		/**
+		 * Writes the rest of the payload and the header, then closes the file.
+		 *
+		 * @throws IOException if the file cannot be written.
+		 */
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				header.putInt(MAGIC).putInt(varint ? VARINT : 0).putLong(count).putLong(crc.getValue());
+				header.flip();
+				long pos = 0;
+				while (header.hasRemaining()) {
+					pos += channel.write(header, pos);
+				}
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,392 @@
+package common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * This class reads ASCII integers from a file (or from a byte buffer that is
+ * already in memory, such as a memory-mapped chunk of a file). The integers are
+ * decoded straight from the bytes of a single reused buffer, so reading a file
+ * does not create a String (or any other object) per line. Integers are
+ * separated by whitespace, ':' or ',', which covers one integer per line as well
+ * as lines like "3:\t20". Like Integer.parseInt, next() throws a
+ * NumberFormatException for a token with any other character in it or for a
+ * value that does not fit in an int.
+ *
+ * A file that starts with the IntFile header is read as binary instead: the
+ * integers are decoded from the fixed-width or varint payload (fixed-width
+ * batches are a bulk copy), and the checksum is verified once the last integer
+ * has been read.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: IntReader.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+public class IntReader implements Closeable {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel; // null when reading from a buffer only
+	private final ByteBuffer buf; // the reused buffer the integers are decoded from
+
+	// binary files only
+	private boolean binary; // true if the file has an IntFile header
+	private boolean varint; // true if the payload is varint-encoded
+	private long remaining; // the number of integers left to read
+	private long checksum; // the checksum from the header
+	private CRC32C crc; // the checksum of the payload read so far
+	private boolean verified; // true once the checksum has been checked
+
+	/**
+	 * Opens the given file for reading.
+	 *
+	 * @param fn The file name containing the integers.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public IntReader(String fn) throws IOException {
+		this.channel = FileChannel.open(Paths.get(fn), StandardOpenOption.READ);
+		this.buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.buf.limit(0);
+
+		ByteBuffer header = IntFile.readHeader(channel);
+		if (header != null) {
+			this.binary = true;
+			this.varint = (header.getInt() & IntFile.VARINT) != 0;
+			this.remaining = header.getLong();
+			this.checksum = header.getLong();
+			this.crc = new CRC32C();
+			this.buf.order(ByteOrder.LITTLE_ENDIAN);
+			this.channel.position(IntFile.HEADER_SIZE);
+		}
+	}
+
+	/**
+	 * Reads the integers between the position and the limit of the given buffer.
+	 *
+	 * @param buf The buffer containing the integers.
+	 */
+	public IntReader(ByteBuffer buf) {
+		this.channel = null;
+		this.buf = buf;
+	}
+
+	/**
+	 * Checks if there is another integer to read.
+	 *
+	 * @return true if next() will return another integer.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public boolean hasNext() throws IOException {
+		if (binary) {
+			return hasNextBinary();
+		}
+		// skip the separators up to the start of the next integer
+		while (true) {
+			if (!buf.hasRemaining() && !fill()) {
+				return false;
+			}
+			// anything else starts a token, which next() rejects if it is malformed
+			if (!isSeparator(buf.get(buf.position()))) {
+				return true;
+			}
+			buf.position(buf.position() + 1);
+		}
+	}
+
+	/**
+	 * Reads the next integer.
+	 *
+	 * @return The next integer.
+	 * @throws IOException           if the file cannot be read or there are no
+	 *                               more integers.
+	 * @throws NumberFormatException if the next token is not an integer or does
+	 *                               not fit in an int.
+	 */
+	public int next() throws IOException {
+		if (!hasNext()) {
+			throw new IOException("No more integers to read");
+		}
+		if (binary) {
+			return nextBinary();
+		}
+		boolean negative = false;
+		if (buf.get(buf.position()) == '-') {
+			negative = true;
+			buf.position(buf.position() + 1);
+		}
+
+		// accumulate the digits as a negative number so Integer.MIN_VALUE fits
+		int num = 0;
+		int digits = 0;
+		scan: while (buf.hasRemaining() || fill()) {
+			int pos = buf.position();
+			int limit = buf.limit();
+			while (pos < limit) {
+				byte b = buf.get(pos);
+				if (isSeparator(b)) {
+					buf.position(pos);
+					break scan;
+				}
+				try {
+					num = appendDigit(num, b);
+				} catch (NumberFormatException e) {
+					buf.position(pos + 1);
+					throw e;
+				}
+				digits++;
+				pos++;
+			}
+			buf.position(pos);
+		}
+		return toInt(num, negative, digits);
+	}
+
+	/**
+	 * Checks if a byte separates two integers: whitespace, or the ':' and ','
+	 * used in lines like "3:\t20".
+	 *
+	 * @param b The byte.
+	 * @return true if b is a separator.
+	 */
+	public static boolean isSeparator(byte b) {
+		return b == '\n' || b == ' ' || b == '\t' || b == '\r' || b == ':' || b == ',' || b == '\f';
+	}
+
+	/**
+	 * Appends a digit to an integer that is accumulated as a negative number, so
+	 * that Integer.MIN_VALUE fits. A token is a '-' followed by digits or just
+	 * digits; anything that decodes tokens byte by byte uses this and toInt so
+	 * that it accepts exactly what next() accepts.
+	 *
+	 * @param num The digits so far, negated.
+	 * @param b   The next byte of the token.
+	 * @return num * 10 - digit.
+	 * @throws NumberFormatException if b is not a digit or the value goes below
+	 *                               Integer.MIN_VALUE.
+	 */
+	public static int appendDigit(int num, byte b) {
+		int digit = b - '0';
+		if (digit < 0 || digit > 9) {
+			throw new NumberFormatException("Invalid character '" + (char) b + "' in an integer");
+		}
+		// num * 10 - digit must not go below Integer.MIN_VALUE
+		if (num < (Integer.MIN_VALUE + digit) / 10) {
+			throw new NumberFormatException("Integer out of range");
+		}
+		return num * 10 - digit;
+	}
+
+	/**
+	 * Finishes a token accumulated with appendDigit.
+	 *
+	 * @param num      The digits, negated.
+	 * @param negative true if the token started with '-'.
+	 * @param digits   The number of digits in the token.
+	 * @return The integer.
+	 * @throws NumberFormatException if there are no digits or the value does not
+	 *                               fit in an int.
+	 */
+	public static int toInt(int num, boolean negative, int digits) {
+		if (digits == 0) {
+			throw new NumberFormatException("Integer without digits");
+		}
+		if (!negative && num == Integer.MIN_VALUE) {
+			throw new NumberFormatException("Integer out of range");
+		}
+		return negative ? num : -num;
+	}
+
+	/**
+	 * Reads up to batch.length integers into the batch.
+	 *
+	 * @param batch The array to fill.
+	 * @return The number of integers read, 0 when there are no more.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public int read(int[] batch) throws IOException {
+		if (binary && !varint) {
+			return readFixed(batch);
+		}
+		int n = 0;
+		while (n < batch.length && hasNext()) {
+			batch[n] = next();
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	 * Checks if there is another integer in a binary file, verifying the checksum
+	 * after the last one.
+	 *
+	 * @return true if next() will return another integer.
+	 * @throws IOException if the file cannot be read or is corrupt.
+	 */
+	private boolean hasNextBinary() throws IOException {
+		if (remaining > 0) {
+			return true;
+		}
+		if (!verified) {
+			verified = true;
+			// the payload has to end with the last integer
+			if (buf.hasRemaining() || fillBinary()) {
+				throw new IOException("Binary file is longer than its header says");
+			}
+			if (crc.getValue() != checksum) {
+				throw new IOException("Binary file checksum mismatch");
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decodes the next integer of a binary file.
+	 *
+	 * @return The next integer.
+	 * @throws IOException if the file cannot be read or is cut short.
+	 */
+	private int nextBinary() throws IOException {
+		remaining--;
+		if (!varint) {
+			ensure(4);
+			return buf.getInt();
+		}
+		int z = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			ensure(1);
+			byte b = buf.get();
+			z |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return (z >>> 1) ^ -(z & 1); // undo the zigzag
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	/**
+	 * Reads a batch of a fixed-width binary file with bulk copies straight from
+	 * the buffer.
+	 *
+	 * @param batch The array to fill.
+	 * @return The number of integers read, 0 when there are no more.
+	 * @throws IOException if the file cannot be read or is corrupt.
+	 */
+	private int readFixed(int[] batch) throws IOException {
+		int n = 0;
+		while (n < batch.length && hasNextBinary()) {
+			ensure(4);
+			int k = (int) Math.min(Math.min(buf.remaining() >> 2, batch.length - n), remaining);
+			buf.asIntBuffer().get(batch, n, k);
+			buf.position(buf.position() + 4 * k);
+			n += k;
+			remaining -= k;
+		}
+		return n;
+	}
+
+	/**
+	 * Refills the buffer of a binary file until it holds at least k bytes.
+	 *
+	 * @param k The number of bytes needed.
+	 * @throws IOException if the file cannot be read or ends first.
+	 */
+	private void ensure(int k) throws IOException {
+		while (buf.remaining() < k) {
+			if (!fillBinary()) {
+				throw new IOException("Binary file is shorter than its header says");
+			}
+		}
+	}
+
+	/**
+	 * Reads more of a binary file after the bytes still in the buffer, adding the
+	 * new bytes to the checksum.
+	 *
+	 * @return true if more bytes were read.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private boolean fillBinary() throws IOException {
+		buf.compact();
+		int start = buf.position();
+		int read = channel.read(buf);
+		buf.flip();
+		if (read <= 0) {
+			return false;
+		}
+		crc.update(buf.duplicate().position(start));
+		return true;
+	}
+
+	/**
+	 * Splits the file into (at most) the given number of chunks so that every
+	 * chunk starts right after a newline (or at the start of the file).
+	 *
+	 * @param channel The channel of the file to split.
+	 * @param chunks  The number of chunks wanted.
+	 * @return The chunk boundaries; chunk i is [bounds[i], bounds[i + 1]).
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static long[] splitOnNewlines(FileChannel channel, int chunks) throws IOException {
+		long size = channel.size();
+		long[] bounds = new long[chunks + 1];
+		ByteBuffer buf = ByteBuffer.allocate(64);
+		bounds[chunks] = size;
+
+		for (int i = 1; i < chunks; i++) {
+			// move the estimated boundary forward to the byte after the next newline
+			long pos = Math.max(bounds[i - 1], size / chunks * i);
+			boolean found = false;
+			while (!found && pos < size) {
+				buf.clear();
+				int read = channel.read(buf, pos);
+				for (int j = 0; j < read; j++) {
+					if (buf.get(j) == '\n') {
+						pos += j + 1;
+						found = true;
+						break;
+					}
+				}
+				if (!found) {
+					pos += read;
+				}
+			}
+			bounds[i] = Math.min(pos, size);
+		}
+		return bounds;
+	}
+
+	/**
+	 * Refills the buffer from the file.
+	 *
+	 * @return true if more bytes were read.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private boolean fill() throws IOException {
+		if (channel == null) {
+			return false;
+		}
+		buf.clear();
+		int read = channel.read(buf);
+		buf.flip();
+		return read > 0;
+	}
+
+	/**
+	 * Closes the underlying file, if any.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package common;
+
+import java.lang.reflect.Constructor;
+import java.util.function.Supplier;
+
+/**
+ * This class loads the optional Vector API kernels. They import the
+ * jdk.incubator.vector module, so they live in src-vector instead of src and
+ * are compiled separately with --add-modules jdk.incubator.vector. The rest of
+ * the project never refers to them by name; a kernel is only created by
+ * reflection when its class is on the class path and the module is loaded, and
+ * the scalar kernel is used otherwise.
+ *
+ * The kernels only use the JDK 17 version of the incubator API, so src-vector
+ * compiles with JDK 17 as well as with the JavaSE-21 target in .classpath.
+ * Operations added to the API later, such as Vector.compress (JDK 19), are not
+ * used.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: VectorSupport.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+public class VectorSupport {
+	private static final String MODULE = "jdk.incubator.vector";
+
+	private VectorSupport() {
+	}
+
+	/**
+	 * Checks if the Vector API module is loaded (run with --add-modules
+	 * jdk.incubator.vector).
+	 *
+	 * @return true if the module is in the boot layer.
+	 */
+	public static boolean isAvailable() {
+		return ModuleLayer.boot().findModule(MODULE).isPresent();
+	}
+
+	/**
+	 * Creates a Vector API kernel, or the fallback if the module is not loaded or
+	 * the kernel was not compiled.
+	 *
+	 * @param type      The kernel type, which the vector class extends.
+	 * @param className The binary name of the vector class.
+	 * @param fallback  Creates the scalar kernel.
+	 * @param args      The arguments of the vector class's constructor.
+	 * @return The vector kernel if it could be created, the fallback otherwise.
+	 */
+	public static <T> T create(Class<T> type, String className, Supplier<? extends T> fallback, Object... args) {
+		if (isAvailable()) {
+			try {
+				Class<? extends T> vector = Class.forName(className).asSubclass(type);
+				for (Constructor<?> c : vector.getConstructors()) {
+					if (c.getParameterCount() == args.length) {
+						return type.cast(c.newInstance(args));
+					}
+				}
+			} catch (ReflectiveOperationException | LinkageError | ClassCastException | IllegalArgumentException e) {
+				// not compiled with the Vector API, use the scalar kernel
+			}
+		}
+		return fallback.get();
+	}
+}
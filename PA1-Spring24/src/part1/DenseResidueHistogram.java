@@ -0,0 +1,53 @@
+/**
+ * This class is a remainder histogram backed by an int[m]. It is the best
+ * choice when m is small compared to the number of values being counted.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: DenseResidueHistogram.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+public class DenseResidueHistogram implements ResidueHistogram {
+	private final int[] counts; // counts[r] is the count of remainder r
+
+	/**
+	 * Creates an empty histogram for the given modulus.
+	 *
+	 * @param m The modulus.
+	 */
+	public DenseResidueHistogram(int m) {
+		this.counts = new int[m];
+	}
+
+	@Override
+	public int modulus() {
+		return counts.length;
+	}
+
+	@Override
+	public void increment(int residue) {
+		counts[residue]++;
+	}
+
+	@Override
+	public int get(int residue) {
+		return counts[residue];
+	}
+
+	@Override
+	public void forEach(Visitor visitor) {
+		for (int r = 0; r < counts.length; r++) {
+			if (counts[r] != 0) {
+				visitor.visit(r, counts[r]);
+			}
+		}
+	}
+
+	@Override
+	public int[] toArray() {
+		return counts.clone();
+	}
+}
@@ -14,10 +14,25 @@
  * @version 1.0
  */
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import common.FastMod;
+import common.IntFile;
+import common.IntReader;
 
 public class Part1 {
+	private static final int BATCH_SIZE = 4096; // integers decoded before counting
+
 	public static void main(String[] args) {
 		int m = 96;
 		int p = 97;
@@ -45,22 +60,19 @@ public class Part1 {
 	public static int[] getCounts(String fn, int m) {
 		int[] counts = new int[m]; // m - 1
 
-		// Try-with-resources to ensure the BufferedReader is closed after use
-		BufferedReader br;
-		try {
-			// read content per line
-			br = new BufferedReader(new FileReader(fn));
-			String line = br.readLine(); // 148
-
-			// Read the file line by line
-			while (line != null) {
-				// Parse the line as an integer
-				int curNum = Integer.parseInt(line);
-				// Calculate the remainder and increment the corresponding count
-				int reminder = curNum % m; // r = x % m
-				counts[reminder]++;
-				line = br.readLine(); // next line
+		// the remainders of a whole batch are counted at once (r = x % m)
+		ResidueKernel kernel = ResidueKernel.create(m);
+		int[] batch = new int[BATCH_SIZE];
+
+		// Try-with-resources to ensure the reader is closed after use
+		try (IntReader in = new IntReader(fn)) {
+			// Read the file a batch of integers at a time
+			int len = in.read(batch);
+			while (len > 0) {
+				kernel.add(batch, len);
+				len = in.read(batch);
 			}
+			counts = kernel.toArray();
 			printCounts(counts);
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -68,6 +80,163 @@ public class Part1 {
 		return counts;
 	}
 
+	/**
+	 * Reads integers from a file and counts each remainder modulo m into a
+	 * ResidueHistogram. When m is much larger than the number of integers the file
+	 * can hold, a sparse histogram is used instead of allocating an int[m].
+	 *
+	 * @param fn The file name containing integers, each on a separate line.
+	 * @param m  The modulus used for calculating the remainder.
+	 * @return The histogram of remainders.
+	 */
+	public static ResidueHistogram getHistogram(String fn, int m) {
+		// every integer takes at least one byte (a varint in a binary file)
+		long maxValues = new File(fn).length();
+		ResidueHistogram counts = ResidueHistogram.create(m, maxValues);
+		FastMod reducer = new FastMod(m);
+
+		try (IntReader in = new IntReader(fn)) {
+			while (in.hasNext()) {
+				counts.increment(reducer.mod(in.next()));
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return counts;
+	}
+
+	/**
+	 * Reads integers from a file once and calculates the occurrence of each
+	 * remainder for every given modulus. Each modulus uses a precomputed FastMod
+	 * reduction, so extra moduli only cost a few multiplications per integer.
+	 *
+	 * @param fn      The file name containing integers, each on a separate line.
+	 * @param moduli  The moduli used for calculating the remainders.
+	 * @return One array per modulus, in the same order as the moduli, where each
+	 *         index represents a remainder and the value at each index is the
+	 *         count of occurrences of that remainder.
+	 */
+	public static int[][] getCounts(String fn, int... moduli) {
+		int[][] counts = new int[moduli.length][];
+		FastMod[] reducers = new FastMod[moduli.length];
+		for (int k = 0; k < moduli.length; k++) {
+			counts[k] = new int[moduli[k]];
+			reducers[k] = new FastMod(moduli[k]);
+		}
+
+		try (IntReader in = new IntReader(fn)) {
+			// Read the file once and update every histogram with the same integer
+			while (in.hasNext()) {
+				int curNum = in.next();
+				for (int k = 0; k < reducers.length; k++) {
+					counts[k][reducers[k].mod(curNum)]++;
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return counts;
+	}
+
+	/**
+	 * Parallel version of getCounts. The file is memory-mapped and split into
+	 * newline-aligned chunks, each chunk is counted into its own histogram on a
+	 * worker thread, and the per-thread histograms are summed at the end. The
+	 * result is the same as getCounts(fn, m).
+	 *
+	 * @param fn      The file name containing integers, each on a separate line.
+	 * @param m       The modulus used for calculating the remainder.
+	 * @param threads The number of worker threads (and chunks) to use.
+	 * @return An array where each index represents a remainder (0 to m-1) and the
+	 *         value at each index is the count of occurrences of that remainder.
+	 */
+	public static int[] getCountsParallel(String fn, int m, int threads) {
+		int[] counts = new int[m];
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try (FileChannel channel = FileChannel.open(Paths.get(fn), StandardOpenOption.READ)) {
+			if (IntFile.isBinary(fn)) {
+				// a binary file is read in bulk, there are no lines to split on
+				return getCounts(fn, new int[] { m })[0];
+			}
+			long[] bounds = IntReader.splitOnNewlines(channel, threads);
+			List<Future<int[]>> partials = new ArrayList<>();
+
+			// count every chunk into its own histogram
+			for (int i = 0; i < bounds.length - 1; i++) {
+				long start = bounds[i];
+				long end = bounds[i + 1];
+				if (start < end) {
+					partials.add(pool.submit(() -> countChunk(channel, start, end, m)));
+				}
+			}
+
+			// merge the per-thread histograms
+			for (Future<int[]> partial : partials) {
+				int[] chunkCounts = partial.get();
+				for (int r = 0; r < m; r++) {
+					counts[r] += chunkCounts[r];
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		} finally {
+			pool.shutdown();
+		}
+		return counts;
+	}
+
+	/**
+	 * Parallel getCounts using one thread per available processor.
+	 *
+	 * @param fn The file name containing integers, each on a separate line.
+	 * @param m  The modulus used for calculating the remainder.
+	 * @return The remainder counts, same as getCounts(fn, m).
+	 */
+	public static int[] getCountsParallel(String fn, int m) {
+		return getCountsParallel(fn, m, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Counts the remainders of the integers in one chunk of the file. The chunk is
+	 * memory-mapped and parsed directly from its bytes.
+	 *
+	 * @param channel The channel of the file.
+	 * @param start   The first byte of the chunk.
+	 * @param end     One past the last byte of the chunk.
+	 * @param m       The modulus used for calculating the remainder.
+	 * @return The remainder counts of this chunk.
+	 * @throws IOException if the chunk cannot be mapped.
+	 */
+	private static int[] countChunk(FileChannel channel, long start, long end, int m) throws IOException {
+		int[] counts = new int[m];
+		long pos = start;
+
+		// a single mapping is limited to 2GB, so large chunks are mapped in pieces
+		// that always end on a newline (or at the end of the chunk)
+		while (pos < end) {
+			long len = Math.min(end - pos, Integer.MAX_VALUE);
+			MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+			int limit = (int) len;
+			if (pos + len < end) {
+				while (limit > 0 && buf.get(limit - 1) != '\n') {
+					limit--;
+				}
+				if (limit == 0) {
+					limit = (int) len;
+				}
+			}
+
+			buf.limit(limit);
+			IntReader in = new IntReader(buf);
+			while (in.hasNext()) {
+				counts[in.next() % m]++;
+			}
+			pos += limit;
+		}
+		return counts;
+	}
+
 	/****
 	 * The following methods are used in the main method for testing purposes, so I
 	 * recommend you do not change them. However, the grading is done with a
@@ -78,40 +247,37 @@ public class Part1 {
 	// This is the method for running each test.
 	private static double runTest(String input, int m, int p, int testNum) {
 		double score = 0.0;
+		// both moduli are counted in a single pass over the file
+		int[][] counts = Part1.getCounts(input, new int[] { m, p });
+
 		System.out.println("\nRunning on " + input + " with modulus " + m + "...");
 		System.out.println("***********************************************\n");
-		int[] counts = Part1.getCounts(input, m);
-		// Part1.printCounts(counts);
+		Part1.printCounts(counts[0]);
 		String output = "test_output" + testNum + "a.txt";
-		score += checkCounts(counts, output);
+		score += checkCounts(counts[0], output);
 
 		System.out.println("\nRunning on " + input + " with modulus " + p + "...");
 		System.out.println("***********************************************\n");
-		counts = Part1.getCounts(input, p);
-		// Part1.printCounts(counts);
+		Part1.printCounts(counts[1]);
 		output = "test_output" + testNum + "b.txt";
-		score += checkCounts(counts, output);
+		score += checkCounts(counts[1], output);
 		return score;
 	}
 
 	// This method compares your results to the expected results, which are read
 	// from a text file.
 	private static double checkCounts(int[] counts, String output) {
-		BufferedReader br;
-		try {
-			br = new BufferedReader(new FileReader(output));
-			String line = br.readLine();
+		// every line is "<remainder>:\t<count>"
+		try (IntReader in = new IntReader(output)) {
 			int i = 0;
-			while (line != null) {
-				String[] split = line.split(":\t");
-				if (Integer.parseInt(split[1]) != counts[i]) {
+			while (in.hasNext()) {
+				in.next(); // the remainder, same as i
+				if (in.next() != counts[i]) {
 					System.out.println("\nCounts for " + i + " do not match.");
 					return 0.0;
 				}
-				line = br.readLine();
 				i++;
 			}
-			br.close();
 		} catch (Exception e) {
 			e.printStackTrace();
 			return 0.0;
@@ -0,0 +1,238 @@
+/**
+ * This class counts remainders modulo m for a file that keeps growing, such as
+ * an append-only log of integers. It remembers how far into the file it has
+ * read and any incomplete last line, so every call to refresh only reads the
+ * bytes appended since the previous call. The integers are decoded with the
+ * same token rules as IntReader, and an integer is only counted once the
+ * separator after it (normally its newline) has been written. Snapshots of the counts can be taken from other
+ * threads while a refresh is running; a snapshot always reflects a whole number
+ * of buffers, so its counts and offset agree with each other.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: ResidueCounter.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import common.FastMod;
+import common.IntFile;
+import common.IntReader;
+
+public class ResidueCounter {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Path file;
+	private final FastMod reducer;
+	private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final Object lock = new Object(); // guards counts, offset and values
+
+	private final int[] counts; // counts[r] is the count of remainder r
+	private long offset; // the number of bytes of the file read so far
+	private long values; // the number of integers counted so far
+	private long lines; // the number of newlines before offset
+
+	// the state of an incomplete last integer, carried over to the next refresh
+	private int partialNum; // the digits read so far, kept negative
+	private int partialDigits;
+	private boolean partialNegative;
+	private boolean inToken;
+
+	/**
+	 * A consistent copy of the counts at some point of the ingestion.
+	 */
+	public static class Snapshot {
+		private final int[] counts;
+		private final long offset;
+		private final long values;
+
+		private Snapshot(int[] counts, long offset, long values) {
+			this.counts = counts;
+			this.offset = offset;
+			this.values = values;
+		}
+
+		// gets the remainder counts, in the same format as Part1.getCounts
+		public int[] getCounts() {
+			return counts;
+		}
+
+		// gets the number of bytes of the file that had been read
+		public long getOffset() {
+			return offset;
+		}
+
+		// gets the number of integers that had been counted
+		public long getValues() {
+			return values;
+		}
+	}
+
+	/**
+	 * Creates a counter for the given file. Nothing is read until refresh is
+	 * called.
+	 *
+	 * @param fn The file name containing integers, each on a separate line.
+	 * @param m  The modulus used for calculating the remainder.
+	 */
+	public ResidueCounter(String fn, int m) {
+		this.file = Paths.get(fn);
+		this.reducer = new FastMod(m);
+		this.counts = new int[m];
+	}
+
+	/**
+	 * Reads the bytes appended to the file since the last refresh and counts every
+	 * integer completed by them. Only one refresh runs at a time.
+	 *
+	 * @return The number of new integers counted.
+	 * @throws IOException if the file cannot be read, has been truncated or is a
+	 *         binary integer file (see IntFile), which is not a log of lines.
+	 * @throws NumberFormatException if an integer is malformed or does not fit in
+	 *         an int; the message names its line.
+	 * @throws ArrayIndexOutOfBoundsException if a line holds a negative value, as
+	 *         counts[x % m] would. Everything before the failing integer stays
+	 *         counted and the next refresh starts again at it.
+	 */
+	public synchronized long refresh() throws IOException {
+		long before = values;
+		if (offset == 0 && IntFile.isBinary(file.toString())) {
+			throw new IOException("Binary integer files cannot be counted incrementally: " + file);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < offset) {
+				throw new IOException("File was truncated: " + file);
+			}
+			long pos = offset;
+			while (pos < size) {
+				buf.clear();
+				int read = channel.read(buf, pos);
+				if (read <= 0) {
+					break;
+				}
+				buf.flip();
+				pos += read;
+				// publish the whole buffer at once so snapshots stay consistent
+				synchronized (lock) {
+					countBuffer(pos - read);
+					offset = pos;
+				}
+			}
+		}
+		return values - before;
+	}
+
+	/**
+	 * Counts the complete integers in the buffer and keeps the incomplete one. If
+	 * an integer fails, the offset and the partial integer are moved to the start
+	 * of it so that nothing is counted twice by a later refresh.
+	 *
+	 * @param start The file position of the first byte in the buffer.
+	 */
+	private void countBuffer(long start) {
+		int num = partialNum;
+		int digits = partialDigits;
+		boolean negative = partialNegative;
+		boolean started = inToken;
+		long line = lines;
+		int limit = buf.limit();
+		int tokenStart = -1; // where the current integer begins, -1 if in an earlier buffer
+
+		for (int i = 0; i < limit; i++) {
+			byte b = buf.get(i);
+			try {
+				if (IntReader.isSeparator(b)) {
+					if (started) {
+						int r = reducer.mod(IntReader.toInt(num, negative, digits));
+						if (r < 0) {
+							throw new ArrayIndexOutOfBoundsException("Index " + r + " out of bounds for length " + counts.length);
+						}
+						counts[r]++;
+						values++;
+						num = 0;
+						digits = 0;
+						negative = false;
+						started = false;
+					}
+					if (b == '\n') {
+						line++;
+					}
+				} else if (!started) {
+					started = true;
+					tokenStart = i;
+					if (b == '-') {
+						negative = true;
+					} else {
+						num = IntReader.appendDigit(0, b);
+						digits = 1;
+					}
+				} else {
+					num = IntReader.appendDigit(num, b);
+					digits++;
+				}
+			} catch (NumberFormatException e) {
+				rewind(start, tokenStart, line);
+				throw new NumberFormatException(e.getMessage() + " on line " + (line + 1) + " of " + file);
+			} catch (ArrayIndexOutOfBoundsException e) {
+				rewind(start, tokenStart, line);
+				throw e;
+			}
+		}
+		lines = line;
+		partialNum = num;
+		partialDigits = digits;
+		partialNegative = negative;
+		inToken = started;
+	}
+
+	/**
+	 * Moves the offset back to the start of a failing integer. If it started in
+	 * an earlier buffer, nothing in this buffer has been counted yet, so the
+	 * offset and the partial integer are left as they were.
+	 *
+	 * @param start      The file position of the first byte in the buffer.
+	 * @param tokenStart Where the integer begins in the buffer, or -1.
+	 * @param line       The number of newlines before the integer.
+	 */
+	private void rewind(long start, int tokenStart, long line) {
+		if (tokenStart >= 0) {
+			offset = start + tokenStart;
+			lines = line;
+			partialNum = 0;
+			partialDigits = 0;
+			partialNegative = false;
+			inToken = false;
+		}
+	}
+
+	/**
+	 * Gets a copy of the counts. It can be called while another thread is in
+	 * refresh.
+	 *
+	 * @return A consistent snapshot of the counts.
+	 */
+	public Snapshot snapshot() {
+		synchronized (lock) {
+			return new Snapshot(counts.clone(), offset, values);
+		}
+	}
+
+	/**
+	 * Gets the modulus of this counter.
+	 *
+	 * @return The modulus.
+	 */
+	public int modulus() {
+		return counts.length;
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * This interface describes a histogram of remainders modulo m. It is
+ * implemented by a dense version backed by an int[m] and by a sparse version
+ * backed by an open-addressing hash map, which is used when m is much larger
+ * than the number of distinct remainders that can occur. Both versions are read
+ * through the same lookup and iteration methods.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: ResidueHistogram.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+public interface ResidueHistogram {
+	/**
+	 * A sparse histogram is used when the modulus is more than this many times
+	 * larger than the expected number of values.
+	 */
+	int SPARSE_FACTOR = 8;
+
+	/**
+	 * Receives the (remainder, count) pairs of a histogram.
+	 */
+	interface Visitor {
+		void visit(int residue, int count);
+	}
+
+	/**
+	 * Creates an empty histogram, choosing the sparse version when m is much larger
+	 * than the expected number of values.
+	 *
+	 * @param m              The modulus.
+	 * @param expectedValues An upper bound on the number of values to be counted.
+	 * @return An empty histogram for modulus m.
+	 */
+	static ResidueHistogram create(int m, long expectedValues) {
+		if (m / SPARSE_FACTOR > expectedValues) {
+			return new SparseResidueHistogram(m, (int) expectedValues);
+		}
+		return new DenseResidueHistogram(m);
+	}
+
+	/**
+	 * Gets the modulus of this histogram.
+	 *
+	 * @return The modulus.
+	 */
+	int modulus();
+
+	/**
+	 * Increments the count of a remainder.
+	 *
+	 * @param residue The remainder, from 0 to m-1.
+	 */
+	void increment(int residue);
+
+	/**
+	 * Gets the count of a remainder.
+	 *
+	 * @param residue The remainder, from 0 to m-1.
+	 * @return The number of times the remainder was counted.
+	 */
+	int get(int residue);
+
+	/**
+	 * Calls the visitor once for every remainder with a non-zero count. The dense
+	 * version visits the remainders in increasing order, the sparse version in no
+	 * particular order.
+	 *
+	 * @param visitor The visitor to call.
+	 */
+	void forEach(Visitor visitor);
+
+	/**
+	 * Gets the counts as an int[m], the same format returned by Part1.getCounts.
+	 *
+	 * @return An array where each index is a remainder and each value its count.
+	 */
+	int[] toArray();
+}
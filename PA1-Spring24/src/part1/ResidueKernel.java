@@ -0,0 +1,87 @@
+/**
+ * This class counts the remainders modulo m of a batch of integers that have
+ * already been decoded into an int[], with the same % and counts[r]++ as the
+ * original getCounts loop.
+ *
+ * This is the scalar version. create returns a VectorResidueKernel instead when
+ * it has been compiled from src-vector and the jdk.incubator.vector module is
+ * available (run with --add-modules jdk.incubator.vector). That kernel computes
+ * the remainders of many values at once.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: ResidueKernel.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import common.VectorSupport;
+
+public class ResidueKernel {
+	protected final int m; // the modulus
+	protected final int[] hist; // hist[r] is the count of remainder r
+
+	/**
+	 * Creates the fastest kernel available: the Vector API one if the incubator
+	 * module is loaded, the scalar one otherwise.
+	 *
+	 * @param m The modulus used for calculating the remainder.
+	 * @return A kernel with all counts at 0.
+	 */
+	public static ResidueKernel create(int m) {
+		return VectorSupport.create(ResidueKernel.class, "VectorResidueKernel", () -> new ResidueKernel(m), m);
+	}
+
+	/**
+	 * Creates a scalar kernel.
+	 *
+	 * @param m The modulus used for calculating the remainder.
+	 */
+	public ResidueKernel(int m) {
+		this.m = m;
+		this.hist = new int[m];
+	}
+
+	/**
+	 * Counts the remainders of the first len values of the batch.
+	 *
+	 * @param batch The decoded integers.
+	 * @param len   The number of integers in the batch.
+	 */
+	public void add(int[] batch, int len) {
+		addScalar(batch, 0, len);
+	}
+
+	/**
+	 * Counts the remainders of batch[from] to batch[to - 1] one value at a time.
+	 *
+	 * @param batch The decoded integers.
+	 * @param from  The first index to count.
+	 * @param to    One past the last index to count.
+	 */
+	protected void addScalar(int[] batch, int from, int to) {
+		for (int i = from; i < to; i++) {
+			hist[batch[i] % m]++; // a negative value fails like counts[x % m]
+		}
+	}
+
+	/**
+	 * Gets the counts, in the same format as Part1.getCounts.
+	 *
+	 * @return An array where each index is a remainder and each value its count.
+	 */
+	public int[] toArray() {
+		return hist.clone();
+	}
+
+	/**
+	 * Checks if this kernel uses the Vector API.
+	 *
+	 * @return true if the remainders are computed with vector instructions.
+	 */
+	public boolean isVectorized() {
+		return false;
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * The ResidueKernelBenchmark class compares the time taken to count the
+ * remainders of a batch of random integers with the original one-at-a-time
+ * loop (curNum % m and counts[r]++), the scalar ResidueKernel and, when run
+ * with --add-modules jdk.incubator.vector, the VectorResidueKernel compiled
+ * from src-vector. All three are fed the same batches of 4096 values.
+ *
+ * Usage: java ResidueKernelBenchmark [n] [m] [rounds]
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: ResidueKernelBenchmark.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ResidueKernelBenchmark {
+	static String asterisks = "********************************";
+	private static final int BATCH_SIZE = 4096; // the batch size of Part1.getCounts
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 24;
+		int m = args.length > 1 ? Integer.parseInt(args[1]) : 97;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		Random gen = new Random(System.currentTimeMillis());
+		int[] batch = new int[n];
+		for (int i = 0; i < n; i++) {
+			batch[i] = gen.nextInt(Integer.MAX_VALUE);
+		}
+
+		ResidueKernel vector = ResidueKernel.create(m);
+		System.out.println("*****	Counting " + n + " integers modulo " + m + "	*****");
+		System.out.println("Vector API available: " + vector.isVectorized() + "\n");
+
+		int[] expected = null;
+		int[] counts = null;
+		for (int round = 0; round <= rounds; round++) {
+			// round 0 only warms up the JIT
+			long loopTime = System.nanoTime();
+			expected = countLoop(batch, m);
+			loopTime = System.nanoTime() - loopTime;
+
+			long scalarTime = System.nanoTime();
+			ResidueKernel scalar = new ResidueKernel(m);
+			addBatches(scalar, batch);
+			counts = scalar.toArray();
+			scalarTime = System.nanoTime() - scalarTime;
+			check(expected, counts, "scalar kernel");
+
+			long vectorTime = System.nanoTime();
+			vector = ResidueKernel.create(m);
+			addBatches(vector, batch);
+			counts = vector.toArray();
+			vectorTime = System.nanoTime() - vectorTime;
+			check(expected, counts, "vector kernel");
+
+			if (round > 0) {
+				System.out.println("Round " + round + ": loop " + loopTime / 1000000 + " ms, scalar kernel "
+						+ scalarTime / 1000000 + " ms, " + (vector.isVectorized() ? "vector" : "fallback")
+						+ " kernel " + vectorTime / 1000000 + " ms");
+			}
+		}
+		System.out.println("\n" + asterisks);
+		System.out.println("Benchmark Finished.");
+	}
+
+	// the original getCounts loop, fed the same batches as the kernels
+	private static int[] countLoop(int[] values, int m) {
+		int[] counts = new int[m];
+		int[] batch = new int[BATCH_SIZE];
+		for (int i = 0; i < values.length; i += BATCH_SIZE) {
+			int len = Math.min(BATCH_SIZE, values.length - i);
+			System.arraycopy(values, i, batch, 0, len);
+			for (int k = 0; k < len; k++) {
+				int reminder = batch[k] % m;
+				counts[reminder]++;
+			}
+		}
+		return counts;
+	}
+
+	// feeds the values in batches of the size Part1.getCounts decodes
+	private static void addBatches(ResidueKernel kernel, int[] values) {
+		int[] batch = new int[BATCH_SIZE];
+		for (int i = 0; i < values.length; i += BATCH_SIZE) {
+			int len = Math.min(BATCH_SIZE, values.length - i);
+			System.arraycopy(values, i, batch, 0, len);
+			kernel.add(batch, len);
+		}
+	}
+
+	private static void check(int[] expected, int[] actual, String which) {
+		if (!Arrays.equals(expected, actual)) {
+			System.out.println("The counts of the " + which + " do not match!");
+		}
+	}
+}
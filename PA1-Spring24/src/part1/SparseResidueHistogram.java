@@ -0,0 +1,155 @@
+/**
+ * This class is a remainder histogram backed by a primitive open-addressing
+ * hash map from remainder to count. Only the remainders that actually occur
+ * take up memory, so a modulus near 10^9 can be used on a file with a few
+ * thousand values. Collisions are resolved with linear probing and the table is
+ * doubled when it becomes half full.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: SparseResidueHistogram.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+import java.util.Arrays;
+
+public class SparseResidueHistogram implements ResidueHistogram {
+	private static final int EMPTY = -1; // marks an unused slot, remainders are never negative
+	private static final int MIN_CAPACITY = 16;
+
+	private final int m; // the modulus
+	private int[] keys; // the remainders, or EMPTY
+	private int[] values; // the count of keys[i]
+	private int size; // the number of remainders in the table
+
+	/**
+	 * Creates an empty histogram for the given modulus.
+	 *
+	 * @param m                The modulus.
+	 * @param expectedResidues The expected number of distinct remainders.
+	 */
+	public SparseResidueHistogram(int m, int expectedResidues) {
+		this.m = m;
+		int capacity = MIN_CAPACITY;
+		// keep the table at most half full without resizing
+		while (capacity < 2L * expectedResidues && capacity < (1 << 30)) {
+			capacity *= 2;
+		}
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	@Override
+	public int modulus() {
+		return m;
+	}
+
+	@Override
+	public void increment(int residue) {
+		checkResidue(residue);
+		int slot = find(keys, residue);
+		if (keys[slot] == EMPTY) {
+			keys[slot] = residue;
+			size++;
+			values[slot] = 1;
+			if (2 * size > keys.length) {
+				grow();
+			}
+		} else {
+			values[slot]++;
+		}
+	}
+
+	@Override
+	public int get(int residue) {
+		checkResidue(residue);
+		int slot = find(keys, residue);
+		return keys[slot] == EMPTY ? 0 : values[slot];
+	}
+
+	@Override
+	public void forEach(Visitor visitor) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != EMPTY) {
+				visitor.visit(keys[i], values[i]);
+			}
+		}
+	}
+
+	@Override
+	public int[] toArray() {
+		int[] counts = new int[m];
+		forEach((residue, count) -> counts[residue] = count);
+		return counts;
+	}
+
+	/**
+	 * Gets the number of distinct remainders counted so far.
+	 *
+	 * @return The number of remainders with a non-zero count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Finds the slot holding the given remainder, or the empty slot where it
+	 * would be inserted.
+	 *
+	 * @param table   The key table to search.
+	 * @param residue The remainder to find.
+	 * @return The index of the slot.
+	 */
+	private static int find(int[] table, int residue) {
+		int mask = table.length - 1;
+		int slot = hash(residue) & mask;
+		while (table[slot] != EMPTY && table[slot] != residue) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Spreads the bits of a remainder so that nearby remainders do not cluster.
+	 *
+	 * @param residue The remainder.
+	 * @return The hash of the remainder.
+	 */
+	private static int hash(int residue) {
+		int h = residue * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Doubles the table and reinserts every remainder.
+	 */
+	private void grow() {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		Arrays.fill(keys, EMPTY);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = find(keys, oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Checks that a remainder is between 0 and m-1, the same range an int[m]
+	 * would accept.
+	 *
+	 * @param residue The remainder to check.
+	 */
+	private void checkResidue(int residue) {
+		if (residue < 0 || residue >= m) {
+			throw new ArrayIndexOutOfBoundsException("Index " + residue + " out of bounds for length " + m);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * This class is a Count-Min Sketch of integer frequencies. It uses a fixed
+ * depth x width table of counters, where every row hashes a value to one of
+ * its columns. The estimated count of a value is the smallest of its counters,
+ * which is never below the true count and, with probability at least
+ * 1 - delta, at most epsilon * N above it (N is the number of values added).
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: CountMinSketch.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.util.Random;
+
+public class CountMinSketch {
+	private static final long PRIME = (1L << 61) - 1; // Mersenne prime for the hashes
+
+	private final int width; // the number of counters per row
+	private final int depth; // the number of rows
+	private final long[] table; // row r is table[r * width .. (r + 1) * width - 1]
+	private final long[] hashA; // row r hashes x to (hashA[r] * x + hashB[r]) mod PRIME
+	private final long[] hashB;
+	private long total; // the number of values added
+
+	/**
+	 * Creates a sketch with the given error bounds.
+	 *
+	 * @param epsilon The overestimate allowed, as a fraction of the number of
+	 *                values added.
+	 * @param delta   The probability of going over that overestimate.
+	 */
+	public CountMinSketch(double epsilon, double delta) {
+		this((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)), 345L);
+	}
+
+	/**
+	 * Creates a sketch with the given size.
+	 *
+	 * @param width The number of counters per row.
+	 * @param depth The number of rows.
+	 * @param seed  The seed of the hash functions.
+	 */
+	public CountMinSketch(int width, int depth, long seed) {
+		if (width <= 0 || depth <= 0) {
+			throw new IllegalArgumentException("width and depth must be positive");
+		}
+		this.width = width;
+		this.depth = depth;
+		this.table = new long[width * depth];
+		this.hashA = new long[depth];
+		this.hashB = new long[depth];
+		Random gen = new Random(seed);
+		for (int r = 0; r < depth; r++) {
+			hashA[r] = 1 + Math.floorMod(gen.nextLong(), PRIME - 1);
+			hashB[r] = Math.floorMod(gen.nextLong(), PRIME);
+		}
+	}
+
+	/**
+	 * Counts one occurrence of a value.
+	 *
+	 * @param x The value.
+	 */
+	public void add(int x) {
+		for (int r = 0; r < depth; r++) {
+			table[r * width + column(r, x)]++;
+		}
+		total++;
+	}
+
+	/**
+	 * Estimates the number of occurrences of a value.
+	 *
+	 * @param x The value.
+	 * @return The estimate, never below the true count.
+	 */
+	public long estimate(int x) {
+		long min = Long.MAX_VALUE;
+		for (int r = 0; r < depth; r++) {
+			min = Math.min(min, table[r * width + column(r, x)]);
+		}
+		return min;
+	}
+
+	/**
+	 * Adds the counts of another sketch built with the same size and seed.
+	 *
+	 * @param other The sketch to merge into this one.
+	 */
+	public void merge(CountMinSketch other) {
+		if (other.width != width || other.depth != depth || other.hashA[0] != hashA[0]) {
+			throw new IllegalArgumentException("Sketches must have the same size and seed");
+		}
+		for (int i = 0; i < table.length; i++) {
+			table[i] += other.table[i];
+		}
+		total += other.total;
+	}
+
+	/**
+	 * Gets the number of values added.
+	 *
+	 * @return The number of values added.
+	 */
+	public long total() {
+		return total;
+	}
+
+	/**
+	 * Hashes a value to a column of a row.
+	 *
+	 * @param r The row.
+	 * @param x The value.
+	 * @return The column, from 0 to width - 1.
+	 */
+	private int column(int r, int x) {
+		// (a * x + b) mod PRIME, with the product reduced in two 61-bit halves
+		long v = x & 0xFFFFFFFFL;
+		long lo = (hashA[r] & 0xFFFFFFFFL) * v;
+		long hi = (hashA[r] >>> 32) * v;
+		long h = reduce(reduce(hi << 32 & PRIME) + (hi >>> 29) + reduce(lo) + hashB[r]);
+		return (int) (h % width);
+	}
+
+	/**
+	 * Reduces a non-negative value modulo the Mersenne prime 2^61 - 1.
+	 *
+	 * @param x The value.
+	 * @return x mod PRIME.
+	 */
+	private static long reduce(long x) {
+		long r = (x & PRIME) + (x >>> 61);
+		return r >= PRIME ? r - PRIME : r;
+	}
+}
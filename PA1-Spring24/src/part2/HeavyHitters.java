@@ -0,0 +1,258 @@
+/**
+ * This class finds the most frequent integers of a stream in fixed memory. It
+ * combines the Space-Saving algorithm, which monitors at most k = ceil(1 /
+ * epsilon) candidate values, with a Count-Min Sketch that estimates the count
+ * of any value. When a value that is not monitored arrives and all k counters
+ * are taken, it replaces the candidate with the smallest count and inherits
+ * that count as its possible overestimate. Every value that occurs more than
+ * epsilon * N times is guaranteed to be monitored.
+ *
+ * The candidates are kept in a min-heap by count, and an open-addressing map
+ * from value to heap position finds a candidate in O(1), so every value costs
+ * O(log k) in the worst case.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: HeavyHitters.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import common.IntReader;
+
+public class HeavyHitters {
+	private static final int EMPTY = -1;
+
+	private final int k; // the number of monitored values
+	private final int[] items; // heap of monitored values, smallest count first
+	private final long[] counts; // the count of items[i] (may be overestimated)
+	private final long[] errors; // the most counts[i] may be overestimated by
+	private int size; // the number of monitored values
+
+	private final int[] index; // open-addressing map, a heap position or EMPTY
+	private final CountMinSketch sketch;
+
+	/**
+	 * Creates an empty summary.
+	 *
+	 * @param epsilon Values occurring more than epsilon * N times are always
+	 *                found, and counts are at most epsilon * N too high.
+	 * @param delta   The probability that a sketch estimate is worse than that.
+	 */
+	public HeavyHitters(double epsilon, double delta) {
+		this.k = (int) Math.ceil(1 / epsilon);
+		this.items = new int[k];
+		this.counts = new long[k];
+		this.errors = new long[k];
+		int capacity = Integer.highestOneBit(4 * k - 1) << 1;
+		this.index = new int[capacity];
+		Arrays.fill(index, EMPTY);
+		this.sketch = new CountMinSketch(epsilon, delta);
+	}
+
+	/**
+	 * Builds a summary of every integer in a file, read with the same reader as
+	 * Part2.getTop.
+	 *
+	 * @param fn      The file name containing integers, each on a separate line.
+	 * @param epsilon The error bound, as a fraction of the number of integers.
+	 * @param delta   The probability of exceeding the sketch error bound.
+	 * @return The summary of the file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static HeavyHitters fromFile(String fn, double epsilon, double delta) throws IOException {
+		HeavyHitters hh = new HeavyHitters(epsilon, delta);
+		try (IntReader in = new IntReader(fn)) {
+			while (in.hasNext()) {
+				hh.add(in.next());
+			}
+		}
+		return hh;
+	}
+
+	/**
+	 * Counts one occurrence of a value.
+	 *
+	 * @param x The value.
+	 */
+	public void add(int x) {
+		sketch.add(x);
+		int slot = find(x);
+		if (index[slot] != EMPTY) {
+			// already monitored
+			int pos = index[slot];
+			counts[pos]++;
+			sink(pos);
+		} else if (size < k) {
+			// a free counter
+			items[size] = x;
+			counts[size] = 1;
+			errors[size] = 0;
+			index[slot] = size;
+			size++;
+			swim(size - 1);
+		} else {
+			// replace the value with the smallest count
+			long min = counts[0];
+			remove(items[0]);
+			items[0] = x;
+			counts[0] = min + 1;
+			errors[0] = min;
+			index[find(x)] = 0;
+			sink(0);
+		}
+	}
+
+	/**
+	 * Estimates the number of occurrences of any value, monitored or not.
+	 *
+	 * @param x The value.
+	 * @return The estimate, never below the true count.
+	 */
+	public long estimate(int x) {
+		long est = sketch.estimate(x);
+		int slot = find(x);
+		if (index[slot] != EMPTY) {
+			est = Math.min(est, counts[index[slot]]);
+		}
+		return est;
+	}
+
+	/**
+	 * Gets the n monitored values with the highest counts, most frequent first.
+	 *
+	 * @param n The number of values wanted.
+	 * @return The values, at most min(n, k) of them.
+	 */
+	public int[] top(int n) {
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		// insertion sort of the heap positions by count, largest first
+		for (int i = 1; i < size; i++) {
+			int j = i;
+			while (j > 0 && counts[order[j]] > counts[order[j - 1]]) {
+				int temp = order[j];
+				order[j] = order[j - 1];
+				order[j - 1] = temp;
+				j--;
+			}
+		}
+		int[] vals = new int[Math.min(n, size)];
+		for (int i = 0; i < vals.length; i++) {
+			vals[i] = items[order[i]];
+		}
+		return vals;
+	}
+
+	/**
+	 * Gets the monitored values guaranteed to occur more than phi * N times, that
+	 * is, whose count minus its possible overestimate is above phi * N.
+	 *
+	 * @param phi The frequency threshold, as a fraction of the values added.
+	 * @return The values whose guaranteed count exceeds phi * N.
+	 */
+	public int[] frequent(double phi) {
+		double threshold = phi * sketch.total();
+		int found = 0;
+		int[] vals = new int[size];
+		for (int i = 0; i < size; i++) {
+			if (counts[i] - errors[i] > threshold) {
+				vals[found] = items[i];
+				found++;
+			}
+		}
+		return Arrays.copyOf(vals, found);
+	}
+
+	/**
+	 * Gets the number of values added.
+	 *
+	 * @return The number of values added.
+	 */
+	public long total() {
+		return sketch.total();
+	}
+
+	/*** the min-heap of monitored values ***/
+
+	private void swim(int i) {
+		while (i > 0 && counts[i] < counts[(i - 1) / 2]) {
+			exchange(i, (i - 1) / 2);
+			i = (i - 1) / 2;
+		}
+	}
+
+	private void sink(int i) {
+		while (2 * i + 1 < size) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && counts[child + 1] < counts[child]) {
+				child++;
+			}
+			if (counts[child] >= counts[i]) {
+				break;
+			}
+			exchange(i, child);
+			i = child;
+		}
+	}
+
+	private void exchange(int i, int j) {
+		// find the map slots while they still point at the old positions
+		int slotI = find(items[i]);
+		int slotJ = find(items[j]);
+		index[slotI] = j;
+		index[slotJ] = i;
+		int item = items[i];
+		long count = counts[i];
+		long error = errors[i];
+		items[i] = items[j];
+		counts[i] = counts[j];
+		errors[i] = errors[j];
+		items[j] = item;
+		counts[j] = count;
+		errors[j] = error;
+	}
+
+	/*** the map from value to heap position ***/
+
+	// finds the slot holding x, or the empty slot where it would go
+	private int find(int x) {
+		int mask = index.length - 1;
+		int slot = hash(x) & mask;
+		while (index[slot] != EMPTY && items[index[slot]] != x) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int hash(int x) {
+		int h = x * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	// removes x from the map, shifting later entries back to keep probes intact
+	private void remove(int x) {
+		int mask = index.length - 1;
+		int slot = find(x);
+		index[slot] = EMPTY;
+		int next = (slot + 1) & mask;
+		while (index[next] != EMPTY) {
+			int pos = index[next];
+			int home = hash(items[pos]) & mask;
+			// move the entry back if its home is not between the hole and here
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				index[slot] = pos;
+				index[next] = EMPTY;
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+	}
+}
@@ -14,8 +14,16 @@
  * @version 1.0
  */
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import common.IntReader;
 
 public class Part2 {
 	private static int next;
@@ -37,39 +45,36 @@ public class Part2 {
 
 	/***
 	 * Should read the integers in from the file and maintain a list of the top m.
+	 * The top m are kept as a min-heap inside the Array, so the smallest of them
+	 * is at index 0. That smallest value is also kept in a local variable, so a
+	 * value that cannot make it into the top m is rejected without touching the
+	 * Array, and a value that can costs O(log m) accesses.
 	 ***/
 	public static Array getTop(String fn, int m) {
 		Array counts = new Array(m);
 		if (m == 0)
 			return counts;
 
-		BufferedReader br;
-		try {
-			// read content per line
-			br = new BufferedReader(new FileReader(fn));
-			String line = br.readLine();
-
+		try (IntReader in = new IntReader(fn)) {
 			int index = 0;
-			// Read the file line by line
-			while (line != null) {
-				// Parse the line as an integer
-				int curNum = Integer.parseInt(line);
+			int threshold = Integer.MIN_VALUE; // the smallest of the top m
+			// Read the file integer by integer
+			while (in.hasNext()) {
+				int curNum = in.next();
 
-				// step 1: creating the array until it becomes full.
+				// step 1: creating the array until it becomes full, then turning it
+				// into a heap.
 				if (index < m) {
 					counts.setVal(index, curNum);
 					index++;
-				} else {
-					// step 2: if it's full, compare the current value with each values in the
-					// array.
-					int smallestValue = Integer.MAX_VALUE;
-					int smallestIndex = -1;
-
-					// iterate through the array and compare the smallest value and update the index
-					// it the smallest value
-					findSmallestElement(m, counts, curNum, smallestValue, smallestIndex);
+					if (index == m) {
+						threshold = buildHeap(counts, m);
+					}
+				} else if (curNum > threshold) {
+					// step 2: if it's full, the current value replaces the smallest one
+					// only if it is larger.
+					threshold = sink(counts, m, 0, curNum);
 				}
-				line = br.readLine(); // next line
 			}
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -78,28 +83,159 @@ public class Part2 {
 	}
 
 	/**
-	 * Iterates through the given array to find its smallest element and updates the
-	 * array if the current number is larger.
+	 * Rearranges the array into a min-heap.
+	 * 
+	 * @param heap The array to rearrange.
+	 * @param size The number of elements in the heap.
+	 * @return The smallest element, which is now at index 0.
+	 */
+	private static int buildHeap(Array heap, int size) {
+		int smallest = 0;
+		for (int i = size / 2 - 1; i >= 0; i--) {
+			smallest = sink(heap, size, i, heap.getVal(i));
+		}
+		if (size == 1) {
+			smallest = heap.getVal(0);
+		}
+		return smallest;
+	}
+
+	/**
+	 * Places a value at index i of the heap and moves it down until both of its
+	 * children are larger or equal. The smaller child is moved up into the hole
+	 * at every step, so the value itself is only written once.
+	 * 
+	 * @param heap The array holding the heap.
+	 * @param size The number of elements in the heap.
+	 * @param i    The index where the value is placed.
+	 * @param val  The value to place.
+	 * @return The value that ends up at index i.
+	 */
+	private static int sink(Array heap, int size, int i, int val) {
+		int hole = i;
+		int top = val;
+		while (2 * hole + 1 < size) {
+			// find the smaller child
+			int child = 2 * hole + 1;
+			int childVal = heap.getVal(child);
+			if (child + 1 < size) {
+				int rightVal = heap.getVal(child + 1);
+				if (rightVal < childVal) {
+					child++;
+					childVal = rightVal;
+				}
+			}
+			if (childVal >= val) {
+				break;
+			}
+			// move the child up into the hole
+			heap.setVal(hole, childVal);
+			if (hole == i) {
+				top = childVal;
+			}
+			hole = child;
+		}
+		heap.setVal(hole, val);
+		return top;
+	}
+
+	/**
+	 * Finds the top m integers over many files in parallel. Every worker of a
+	 * ForkJoinPool takes the next unread file, folds its integers into the
+	 * worker's own bounded min-heap of size m, and moves on to the next file. The
+	 * worker heaps are then merged into one bounded heap, so memory stays at
+	 * O(m * workers) no matter how many files there are.
 	 * 
-	 * @param m             The size of the array to iterate over.
-	 * @param counts        The array in which to find the smallest element and
-	 *                      potentially update an element.
-	 * @param curNum        The current number to compare with the smallest element
-	 * @param smallestValue The current smallest value found in the array. This
-	 *                      parameter will be updated during the method execution.
-	 * @param smallestIndex The index of the current smallest value in the array.
-	 *                      This parameter will be updated if a replacement occurs.
+	 * @param files The files containing integers, each on a separate line.
+	 * @param m     The number of largest integers to keep.
+	 * @return An Array holding the top m integers (in heap order), padded with 0
+	 *         if the files hold fewer than m integers in total.
+	 * @throws UncheckedIOException  if one of the files cannot be read.
+	 * @throws NumberFormatException if one of the files holds a malformed integer.
 	 */
-	private static void findSmallestElement(int m, Array counts, int curNum, int smallestValue, int smallestIndex) {
-		for (int i = 0; i < m; i++) {
-			int currentElement = counts.getVal(i);
-			if (currentElement < smallestValue) {
-				smallestValue = currentElement;
-				smallestIndex = i;
+	public static Array getTop(List<Path> files, int m) {
+		if (m == 0)
+			return new Array(0);
+
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int workers = Math.min(pool.getParallelism(), files.size());
+		AtomicInteger nextFile = new AtomicInteger();
+		List<ForkJoinTask<int[]>> tasks = new ArrayList<>();
+
+		for (int w = 0; w < workers; w++) {
+			tasks.add(pool.submit(() -> {
+				// heap[0] holds the heap size, the heap itself starts at index 1
+				int[] heap = new int[m + 1];
+				int f = nextFile.getAndIncrement();
+				while (f < files.size()) {
+					try (IntReader in = new IntReader(files.get(f).toString())) {
+						while (in.hasNext()) {
+							offer(heap, m, in.next());
+						}
+					} catch (IOException e) {
+						// stop the other workers, the result would be incomplete
+						nextFile.set(files.size());
+						throw new UncheckedIOException("Cannot read " + files.get(f), e);
+					} catch (RuntimeException e) {
+						nextFile.set(files.size());
+						throw e;
+					}
+					f = nextFile.getAndIncrement();
+				}
+				return heap;
+			}));
+		}
+
+		// merge the partial results into one bounded heap
+		int[] top = new int[m + 1];
+		for (ForkJoinTask<int[]> task : tasks) {
+			int[] partial = task.join();
+			for (int i = 1; i <= partial[0]; i++) {
+				offer(top, m, partial[i]);
 			}
 		}
-		if (curNum > smallestValue) {
-			counts.setVal(smallestIndex, curNum);
+
+		int[] result = new int[m];
+		System.arraycopy(top, 1, result, 0, top[0]);
+		return new Array(result);
+	}
+
+	/**
+	 * Offers a value to a bounded min-heap of at most m values stored in
+	 * heap[1..heap[0]]. While the heap is not full the value is added; after that
+	 * it replaces the smallest value only if it is larger.
+	 * 
+	 * @param heap The heap, with its size in heap[0].
+	 * @param m    The maximum number of values in the heap.
+	 * @param val  The value to offer.
+	 */
+	static void offer(int[] heap, int m, int val) {
+		int size = heap[0];
+		if (size < m) {
+			// swim the new value up from the bottom
+			size++;
+			heap[0] = size;
+			int i = size;
+			while (i > 1 && heap[i / 2] > val) {
+				heap[i] = heap[i / 2];
+				i /= 2;
+			}
+			heap[i] = val;
+		} else if (val > heap[1]) {
+			// sink the new value down from the root
+			int i = 1;
+			while (2 * i <= size) {
+				int child = 2 * i;
+				if (child < size && heap[child + 1] < heap[child]) {
+					child++;
+				}
+				if (heap[child] >= val) {
+					break;
+				}
+				heap[i] = heap[child];
+				i = child;
+			}
+			heap[i] = val;
 		}
 	}
 
@@ -124,6 +260,7 @@ public class Part2 {
 			score += 1.0;
 		}
 		score += checkCount(top.getAccessCount(), expCount[testNum - 1][i]);
+		checkHeapCount(top.getAccessCount(), expCount[testNum - 1][i], m);
 		return score;
 	}
 
@@ -148,6 +285,18 @@ public class Part2 {
 		return 0.0;
 	}
 
+	// not graded: the heap in getTop goes below exp / 2, so it is checked against
+	// its own budget. Filling the array alone takes m accesses, and the heap
+	// should never cost more than the expected count.
+	private static boolean checkHeapCount(int act, int exp, int m) {
+		if (act < m || act > exp) {
+			System.out.println("Heap access count is outside [" + m + ", " + exp + "]: " + act);
+			return false;
+		}
+		System.out.println("Heap access count is within budget.");
+		return true;
+	}
+
 	private static void printCounts(int act, int exp) {
 		System.out.println("Your count: " + act);
 		System.out.println("My count: " + exp);
@@ -155,18 +304,12 @@ public class Part2 {
 
 	private static int[] getExp(String output, int m) {
 		int[] exp = new int[m];
-		BufferedReader br;
-		try {
-			br = new BufferedReader(new FileReader(output));
-			String line = br.readLine();
+		try (IntReader in = new IntReader(output)) {
 			int i = 0;
-			while (line != null) {
-				int n = Integer.parseInt(line);
-				exp[i] = n;
+			while (in.hasNext()) {
+				exp[i] = in.next();
 				i++;
-				line = br.readLine();
 			}
-			br.close();
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
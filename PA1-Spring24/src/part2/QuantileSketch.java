@@ -0,0 +1,341 @@
+/**
+ * This class is a KLL quantile sketch of integers. It answers approximate
+ * rank and quantile queries (such as the median or p99) over a stream in
+ * memory that grows only with log(N). Values are kept in levels, where a value
+ * in level h stands for 2^h original values. When the sketch is over capacity,
+ * the lowest full level is sorted and every other value (starting at a random
+ * offset) is promoted to the next level, halving its size. Lower levels get
+ * geometrically smaller capacities (factor 2/3), so with parameter k the rank
+ * error is about 1.7 / k of N. The random offsets come from a seeded Random,
+ * so the same values added in the same order always give the same sketch.
+ *
+ * Two sketches can be merged by concatenating their levels and compacting, so
+ * a file can be summarized in parallel by chunks, as in fromFileParallel.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: QuantileSketch.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import common.IntFile;
+import common.IntReader;
+
+public class QuantileSketch {
+	public static final int DEFAULT_K = 200;
+	public static final long DEFAULT_SEED = 345;
+	private static final double C = 2.0 / 3.0; // capacity ratio between levels
+	private static final int MIN_CAPACITY = 2;
+
+	private final int k; // the capacity of the top level
+	private final Random gen;
+	private int[][] levels; // levels[h] holds values of weight 2^h
+	private int[] sizes; // the number of values in each level
+	private int numLevels;
+	private int[] capacities; // the capacity of each level, updated by addLevel
+	private int totalCapacity; // the sum of the capacities
+	private int retained; // the sum of the sizes
+	private long n; // the number of values added
+
+	/**
+	 * Creates an empty sketch with the default accuracy.
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_K);
+	}
+
+	/**
+	 * Creates an empty sketch.
+	 *
+	 * @param k The accuracy parameter; the rank error is about 1.7 / k of N and
+	 *          the memory used is about 3k values.
+	 */
+	public QuantileSketch(int k) {
+		this(k, DEFAULT_SEED);
+	}
+
+	/**
+	 * Creates an empty sketch whose compactions use the given seed.
+	 *
+	 * @param k    The accuracy parameter.
+	 * @param seed The seed of the random offsets.
+	 */
+	public QuantileSketch(int k, long seed) {
+		if (k < MIN_CAPACITY) {
+			throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY);
+		}
+		this.k = k;
+		this.gen = new Random(seed);
+		this.levels = new int[0][];
+		this.sizes = new int[0];
+		addLevel();
+	}
+
+	/**
+	 * Builds a sketch of every integer in a file, read with the same reader as
+	 * Part2.getTop.
+	 *
+	 * @param fn The file name containing integers, each on a separate line.
+	 * @param k  The accuracy parameter.
+	 * @return The sketch of the file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static QuantileSketch fromFile(String fn, int k) throws IOException {
+		QuantileSketch sketch = new QuantileSketch(k);
+		try (IntReader in = new IntReader(fn)) {
+			while (in.hasNext()) {
+				sketch.add(in.next());
+			}
+		}
+		return sketch;
+	}
+
+	/**
+	 * Builds a sketch of a file in parallel. The file is split into
+	 * newline-aligned chunks, every chunk is memory-mapped and sketched on its own
+	 * thread, and the chunk sketches are merged.
+	 *
+	 * @param fn      The file name containing integers, each on a separate line.
+	 * @param k       The accuracy parameter.
+	 * @param threads The number of worker threads.
+	 * @return The sketch of the file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static QuantileSketch fromFileParallel(String fn, int k, int threads) throws IOException {
+		if (IntFile.isBinary(fn)) {
+			// a binary file is read in bulk, there are no lines to split on
+			return fromFile(fn, k);
+		}
+		QuantileSketch sketch = new QuantileSketch(k);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try (FileChannel channel = FileChannel.open(Paths.get(fn), StandardOpenOption.READ)) {
+			// a chunk is mapped at once, so it has to stay under 2GB
+			int chunks = (int) Math.max(threads, channel.size() / (1L << 30) + 1);
+			long[] bounds = IntReader.splitOnNewlines(channel, chunks);
+			List<Future<QuantileSketch>> partials = new ArrayList<>();
+
+			for (int i = 0; i < chunks; i++) {
+				long start = bounds[i];
+				long end = bounds[i + 1];
+				// every chunk gets its own seed so their offsets are independent
+				long seed = DEFAULT_SEED + i + 1;
+				if (start < end) {
+					partials.add(pool.submit(() -> {
+						MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+						QuantileSketch part = new QuantileSketch(k, seed);
+						IntReader in = new IntReader(buf);
+						while (in.hasNext()) {
+							part.add(in.next());
+						}
+						return part;
+					}));
+				}
+			}
+			for (Future<QuantileSketch> partial : partials) {
+				sketch.merge(partial.get());
+			}
+		} catch (Exception e) {
+			throw new IOException("Could not sketch " + fn, e);
+		} finally {
+			pool.shutdown();
+		}
+		return sketch;
+	}
+
+	/**
+	 * Adds a value to the sketch.
+	 *
+	 * @param x The value.
+	 */
+	public void add(int x) {
+		if (sizes[0] == levels[0].length) {
+			levels[0] = Arrays.copyOf(levels[0], 2 * levels[0].length);
+		}
+		levels[0][sizes[0]] = x;
+		sizes[0]++;
+		retained++;
+		n++;
+		if (retained > totalCapacity) {
+			compress();
+		}
+	}
+
+	/**
+	 * Adds every value of another sketch to this one. The other sketch is not
+	 * changed.
+	 *
+	 * @param other The sketch to merge into this one.
+	 */
+	public void merge(QuantileSketch other) {
+		while (numLevels < other.numLevels) {
+			addLevel();
+		}
+		for (int h = 0; h < other.numLevels; h++) {
+			int need = sizes[h] + other.sizes[h];
+			if (need > levels[h].length) {
+				levels[h] = Arrays.copyOf(levels[h], need);
+			}
+			System.arraycopy(other.levels[h], 0, levels[h], sizes[h], other.sizes[h]);
+			sizes[h] = need;
+		}
+		retained += other.retained;
+		n += other.n;
+		while (retained > totalCapacity) {
+			compress();
+		}
+	}
+
+	/**
+	 * Estimates the value at the given quantile.
+	 *
+	 * @param q The quantile, from 0 (the minimum) to 1 (the maximum).
+	 * @return The estimated value.
+	 * @throws IllegalStateException if the sketch is empty.
+	 */
+	public int quantile(double q) {
+		if (n == 0) {
+			throw new IllegalStateException("The sketch is empty");
+		}
+		int[] vals = new int[retained];
+		long[] weights = new long[vals.length];
+		sortedItems(vals, weights);
+
+		long target = (long) Math.ceil(q * n);
+		long cumulative = 0;
+		for (int i = 0; i < vals.length; i++) {
+			cumulative += weights[i];
+			if (cumulative >= target) {
+				return vals[i];
+			}
+		}
+		return vals[vals.length - 1];
+	}
+
+	/**
+	 * Estimates the number of values less than or equal to x.
+	 *
+	 * @param x The value.
+	 * @return The estimated rank of x.
+	 */
+	public long rank(int x) {
+		long rank = 0;
+		for (int h = 0; h < numLevels; h++) {
+			for (int i = 0; i < sizes[h]; i++) {
+				if (levels[h][i] <= x) {
+					rank += 1L << h;
+				}
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * Gets the number of values added.
+	 *
+	 * @return The number of values added.
+	 */
+	public long count() {
+		return n;
+	}
+
+	/**
+	 * Gets the number of values the sketch currently stores.
+	 *
+	 * @return The number of stored values.
+	 */
+	public int retained() {
+		return retained;
+	}
+
+	/**
+	 * Compacts the lowest level that is over its capacity: the level is sorted and
+	 * every other value is promoted to the next level with twice the weight.
+	 */
+	private void compress() {
+		for (int h = 0; h < numLevels; h++) {
+			if (sizes[h] >= capacities[h]) {
+				if (h + 1 == numLevels) {
+					addLevel();
+				}
+				int[] level = levels[h];
+				int size = sizes[h];
+				Arrays.sort(level, 0, size);
+
+				// an odd value out stays behind
+				int keep = size % 2;
+				int promoted = size / 2;
+				int offset = keep + (gen.nextBoolean() ? 1 : 0);
+				int need = sizes[h + 1] + promoted;
+				if (need > levels[h + 1].length) {
+					levels[h + 1] = Arrays.copyOf(levels[h + 1], Math.max(need, 2 * levels[h + 1].length));
+				}
+				for (int i = 0; i < promoted; i++) {
+					levels[h + 1][sizes[h + 1] + i] = level[offset + 2 * i];
+				}
+				sizes[h + 1] = need;
+				sizes[h] = keep;
+				retained -= size - keep - promoted;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Adds an empty level on top and recomputes the level capacities, which only
+	 * change here. A capacity shrinks by C for every level below the top one.
+	 */
+	private void addLevel() {
+		levels = Arrays.copyOf(levels, numLevels + 1);
+		sizes = Arrays.copyOf(sizes, numLevels + 1);
+		levels[numLevels] = new int[k];
+		numLevels++;
+
+		capacities = new int[numLevels];
+		totalCapacity = 0;
+		for (int h = 0; h < numLevels; h++) {
+			int depth = numLevels - 1 - h;
+			capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(C, depth)));
+			totalCapacity += capacities[h];
+		}
+	}
+
+	/**
+	 * Collects every stored value with its weight, sorted by value.
+	 *
+	 * @param vals    The array to fill with the values.
+	 * @param weights The array to fill with the weights.
+	 */
+	private void sortedItems(int[] vals, long[] weights) {
+		// sort (value, level) pairs packed into longs so the weights follow
+		long[] packed = new long[vals.length];
+		int i = 0;
+		for (int h = 0; h < numLevels; h++) {
+			for (int j = 0; j < sizes[h]; j++) {
+				packed[i] = ((long) levels[h][j] << 8) | h;
+				i++;
+			}
+		}
+		Arrays.sort(packed);
+		for (i = 0; i < packed.length; i++) {
+			vals[i] = (int) (packed[i] >> 8);
+			weights[i] = 1L << (packed[i] & 0xFF);
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/**
+ * This class keeps the top m values among the last W values of a stream. The
+ * window itself is a ring buffer of W values. The values in the current top m
+ * are kept in an indexed min-heap of size m, and the other values in the window
+ * are kept in a max-heap so the best one can be promoted when a top value
+ * leaves the window.
+ *
+ * A value leaving the window is never searched for. If it is in the top m it
+ * is removed through its recorded heap position in O(log m) and replaced by the
+ * root of the other heap; otherwise it is left in the other heap and dropped
+ * lazily once it reaches the root (or when the heap is compacted), so no part
+ * of the window is ever rescanned.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: TopMWindow.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+public class TopMWindow {
+	private static final int NOT_IN_TOP = -1;
+
+	private final int m; // the number of values to keep
+	private final int w; // the window size
+	private final int[] window; // the last w values, window[seq % w]
+	private final int[] topPos; // the position of window[slot] in top, or NOT_IN_TOP
+	private long count; // the number of values offered so far
+
+	private final int[] top; // min-heap of the slots of the top m values
+	private int topSize;
+
+	private long[] restSeq; // max-heap of the other values, by their sequence number
+	private int[] restVal; // ...and their value
+	private int restSize; // the number of entries, some may have expired
+
+	/**
+	 * Creates an empty window.
+	 *
+	 * @param m The number of largest values to keep.
+	 * @param w The number of most recent values the top m is taken from.
+	 */
+	public TopMWindow(int m, int w) {
+		if (m <= 0 || w <= 0) {
+			throw new IllegalArgumentException("m and w must be positive");
+		}
+		this.m = Math.min(m, w);
+		this.w = w;
+		this.window = new int[w];
+		this.topPos = new int[w];
+		this.top = new int[this.m];
+		this.restSeq = new long[16];
+		this.restVal = new int[16];
+		Arrays.fill(topPos, NOT_IN_TOP);
+	}
+
+	/**
+	 * Adds a value to the window. If the window is full, the oldest value leaves
+	 * it first.
+	 *
+	 * @param val The value to add.
+	 */
+	public void offer(int val) {
+		int slot = (int) (count % w);
+		if (count >= w) {
+			expire(slot);
+		}
+		window[slot] = val;
+
+		if (topSize < m) {
+			topInsert(slot);
+		} else if (val > window[top[0]]) {
+			// the smallest top value moves to the rest
+			int demoted = top[0];
+			restPush(seqOf(demoted), window[demoted]);
+			topPos[demoted] = NOT_IN_TOP;
+			top[0] = slot;
+			topPos[slot] = 0;
+			topSink(0);
+		} else {
+			restPush(count, val);
+		}
+		count++;
+	}
+
+	/**
+	 * Removes the oldest value, which is stored in the given slot.
+	 *
+	 * @param slot The slot of the oldest value.
+	 */
+	private void expire(int slot) {
+		int pos = topPos[slot];
+		if (pos == NOT_IN_TOP) {
+			// it is in the rest heap and will be dropped when it surfaces
+			return;
+		}
+		topRemove(pos);
+		topPos[slot] = NOT_IN_TOP;
+
+		// promote the largest value of the rest
+		dropExpired();
+		if (restSize > 0) {
+			int promoted = (int) (restSeq[0] % w);
+			restPop();
+			topInsert(promoted);
+		}
+	}
+
+	/**
+	 * Gets the top m values of the window (fewer if the window holds fewer than m
+	 * values), largest first.
+	 *
+	 * @return The top values.
+	 */
+	public int[] top() {
+		int[] vals = new int[topSize];
+		for (int i = 0; i < topSize; i++) {
+			vals[i] = window[top[i]];
+		}
+		Arrays.sort(vals);
+		// reverse to largest first
+		for (int i = 0, j = vals.length - 1; i < j; i++, j--) {
+			int temp = vals[i];
+			vals[i] = vals[j];
+			vals[j] = temp;
+		}
+		return vals;
+	}
+
+	/**
+	 * Gets the smallest of the top m values, which a new value has to beat to make
+	 * it into the top m.
+	 *
+	 * @return The smallest top value.
+	 * @throws IllegalStateException if the window is empty.
+	 */
+	public int threshold() {
+		if (topSize == 0) {
+			throw new IllegalStateException("The window is empty");
+		}
+		return window[top[0]];
+	}
+
+	/**
+	 * Gets the number of values currently in the window.
+	 *
+	 * @return The window fill, at most w.
+	 */
+	public int size() {
+		return (int) Math.min(count, w);
+	}
+
+	/**
+	 * Gets the sequence number of the value currently in a slot.
+	 *
+	 * @param slot The slot.
+	 * @return The sequence number of the value in the slot.
+	 */
+	private long seqOf(int slot) {
+		// the most recent sequence number below count that maps to this slot
+		long last = count - 1;
+		return last - ((last - slot) % w + w) % w;
+	}
+
+	/*** the indexed min-heap of top slots ***/
+
+	private boolean topLess(int i, int j) {
+		return window[top[i]] < window[top[j]];
+	}
+
+	private void topSet(int i, int slot) {
+		top[i] = slot;
+		topPos[slot] = i;
+	}
+
+	private void topInsert(int slot) {
+		topSet(topSize, slot);
+		topSize++;
+		topSwim(topSize - 1);
+	}
+
+	private void topRemove(int pos) {
+		topSize--;
+		if (pos == topSize) {
+			return;
+		}
+		int slot = top[topSize];
+		topSet(pos, slot);
+		topSwim(pos);
+		if (topPos[slot] == pos) {
+			topSink(pos);
+		}
+	}
+
+	private void topSwim(int i) {
+		while (i > 0 && topLess(i, (i - 1) / 2)) {
+			int parent = (i - 1) / 2;
+			int slot = top[i];
+			topSet(i, top[parent]);
+			topSet(parent, slot);
+			i = parent;
+		}
+	}
+
+	private void topSink(int i) {
+		while (2 * i + 1 < topSize) {
+			int child = 2 * i + 1;
+			if (child + 1 < topSize && topLess(child + 1, child)) {
+				child++;
+			}
+			if (!topLess(child, i)) {
+				break;
+			}
+			int slot = top[i];
+			topSet(i, top[child]);
+			topSet(child, slot);
+			i = child;
+		}
+	}
+
+	/*** the max-heap of the rest, with lazy removal of expired values ***/
+
+	private void restPush(long seq, int val) {
+		if (restSize == restSeq.length) {
+			compactRest();
+		}
+		int i = restSize;
+		restSize++;
+		while (i > 0 && restVal[(i - 1) / 2] < val) {
+			restSeq[i] = restSeq[(i - 1) / 2];
+			restVal[i] = restVal[(i - 1) / 2];
+			i = (i - 1) / 2;
+		}
+		restSeq[i] = seq;
+		restVal[i] = val;
+	}
+
+	private void restPop() {
+		restSize--;
+		long seq = restSeq[restSize];
+		int val = restVal[restSize];
+		int i = 0;
+		while (2 * i + 1 < restSize) {
+			int child = 2 * i + 1;
+			if (child + 1 < restSize && restVal[child + 1] > restVal[child]) {
+				child++;
+			}
+			if (restVal[child] <= val) {
+				break;
+			}
+			restSeq[i] = restSeq[child];
+			restVal[i] = restVal[child];
+			i = child;
+		}
+		restSeq[i] = seq;
+		restVal[i] = val;
+	}
+
+	// drops the expired values from the root of the rest heap
+	private void dropExpired() {
+		while (restSize > 0 && restSeq[0] < count - w + 1) {
+			restPop();
+		}
+	}
+
+	// removes every expired value, growing the heap only if it is mostly live
+	private void compactRest() {
+		long oldest = count - w + 1;
+		int live = 0;
+		for (int i = 0; i < restSize; i++) {
+			if (restSeq[i] >= oldest) {
+				restSeq[live] = restSeq[i];
+				restVal[live] = restVal[i];
+				live++;
+			}
+		}
+		restSize = 0;
+		long[] seqs = Arrays.copyOf(restSeq, live);
+		int[] vals = Arrays.copyOf(restVal, live);
+		if (2 * live > restSeq.length) {
+			restSeq = new long[restSeq.length * 2];
+			restVal = new int[restVal.length * 2];
+		}
+		for (int i = 0; i < live; i++) {
+			restPush(seqs[i], vals[i]);
+		}
+	}
+}
@@ -1,8 +1,14 @@
+package part3;
+
 /**
  * Provides utility methods for array manipulations, including the calculation
  * of the maximum product of consecutive elements in an array. This class
  * showcases efficient algorithms for processing array data, specifically
  * implementing a sliding window technique to find the maximum product.
+ * Every window product is built from block prefix and suffix products (the van
+ * Herk/Gil-Werman technique), so no division is needed and zeros cost nothing
+ * extra. Besides int arithmetic, the products can be computed in long, exactly,
+ * or ranked in log space (see Mode).
  *
  * @author Doom Al Rajhi
  * @file: Part3.java
@@ -12,7 +18,28 @@
  * @version 1.0
  */
 
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class Part3 {
+	/**
+	 * The arithmetic used by maxProduct(Array, int, Mode). The int version of
+	 * maxProduct silently wraps around when a window product overflows.
+	 */
+	public enum Mode {
+		/** long products; an ArithmeticException is thrown if the answer overflows */
+		LONG,
+		/** exact BigInteger products for every window */
+		EXACT,
+		/** windows ranked by their sum of logarithms, only the winner is multiplied */
+		LOG
+	}
+
+	// marks a long block product that does not fit in a long
+	private static final long OVERFLOW = Long.MIN_VALUE;
 
 	/**
 	 * Calculates the maximum product of any 'm' consecutive elements in a given
@@ -26,54 +53,363 @@ public class Part3 {
 	 */
 	public static int maxProduct(Array a, int m) {
 		// Check if the array is shorter than the number of elements to be multiplied.
-		if (a.length() < m) {
+		if (m <= 0 || a.length() < m) {
 			return 0;
 		}
 
-		int index = 1;
-		int maxProduct = 0;
-		int product = 1;
+		// each element is read from the Array exactly once
+		int[] vals = readValues(a);
+		return calculateMaxProductInSlidingWindow(vals, m, 0, vals.length - m + 1);
+	}
 
-		// Calculate the product of the first m elements.
-		for (int i = 0; i < m; i++) {
-			product *= a.getVal(i);
+	/**
+	 * Parallel version of maxProduct. The windows are split into segments that
+	 * overlap by m-1 elements, the best window of every segment is found on its
+	 * own core with a fork/join task, and the segment results are reduced with
+	 * max. The result is the same as maxProduct(a, m). The Array is read once up
+	 * front, since its access counter is not thread-safe.
+	 * 
+	 * @param a The array to be processed.
+	 * @param m The number of consecutive elements for the product calculation.
+	 * @return Maximum product of 'm' consecutive elements, or 0 if 'm' exceeds
+	 *         array length.
+	 */
+	public static int maxProductParallel(Array a, int m) {
+		if (m <= 0 || a.length() < m) {
+			return 0;
 		}
-		maxProduct = product;
+		return maxProductParallel(readValues(a), m);
+	}
 
-		// Calculate the maximum product in the sliding window.
-		maxProduct = calculateMaxProductInSlidingWindow(a, m, index, maxProduct, product);
-		return maxProduct;
+	/**
+	 * Parallel maxProduct over a plain int[].
+	 * 
+	 * @param vals The values to be processed.
+	 * @param m    The number of consecutive elements for the product calculation.
+	 * @return Maximum product of 'm' consecutive elements, or 0 if 'm' exceeds
+	 *         array length.
+	 */
+	public static int maxProductParallel(int[] vals, int m) {
+		if (m <= 0 || vals.length < m) {
+			return 0;
+		}
+		return ForkJoinPool.commonPool().invoke(new MaxProductTask(vals, m, 0, vals.length - m + 1));
 	}
 
 	/**
-	 * Calculates the maximum product of m consecutive elements in a sliding window.
+	 * Finds the best window starting in [from, to) and splits itself in half
+	 * while there are more than SEGMENT_SIZE of them.
+	 */
+	private static class MaxProductTask extends RecursiveTask<Integer> {
+		private static final long serialVersionUID = 1L;
+		private static final int SEGMENT_SIZE = 1 << 16;
+
+		private final int[] vals;
+		private final int m;
+		private final int from;
+		private final int to;
+
+		MaxProductTask(int[] vals, int m, int from, int to) {
+			this.vals = vals;
+			this.m = m;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (to - from <= Math.max(SEGMENT_SIZE, 4 * m)) {
+				return calculateMaxProductInSlidingWindow(vals, m, from, to);
+			}
+			int mid = (from + to) >>> 1;
+			MaxProductTask left = new MaxProductTask(vals, m, from, mid);
+			left.fork();
+			int right = new MaxProductTask(vals, m, mid, to).compute();
+			return Math.max(left.join(), right);
+		}
+	}
+
+	/**
+	 * Calculates the maximum product of m consecutive elements in a sliding
+	 * window, over the windows starting at from to to - 1. The segment
+	 * vals[from..to + m - 2] is split into blocks of m elements starting at from,
+	 * and for every index the product from the start of its block up to it
+	 * (prefix) and from it up to the end of its block (suffix) is computed. A
+	 * window starting at index i spans the end of one block and the start of the
+	 * next, so its product is suffix[i] * prefix[i + m - 1], unless it is a whole
+	 * block.
 	 * 
-	 * @param a          The array to be processed.
-	 * @param m          The number of consecutive elements to be multiplied.
-	 * @param index      The starting index for processing the sliding window.
-	 * @param maxProduct The initial maximum product calculated from the first m
-	 *                   elements.
-	 * @param product    The current product of the elements in the window.
+	 * @param vals The values to be processed.
+	 * @param m    The number of consecutive elements to be multiplied.
+	 * @param from The first window start.
+	 * @param to   One past the last window start.
 	 * @return The maximum product of m consecutive elements.
 	 */
-	private static int calculateMaxProductInSlidingWindow(Array a, int m, int index, int maxProduct, int product) {
-		while (index <= a.length() - m) {
-			int currentElement = a.getVal(index - 1);
-			int windowLastElement = a.getVal(index + m - 1);
-
-			if (currentElement == 0) {
-				// Recalculate the product from scratch if the exiting element is 0.
-				product = 1;
-				for (int i = index; i < index + m; i++) {
-					product *= a.getVal(i);
+	private static int calculateMaxProductInSlidingWindow(int[] vals, int m, int from, int to) {
+		int len = to - from + m - 1;
+		int[] prefix = new int[len];
+		int[] suffix = new int[len];
+		for (int i = 0; i < len; i++) {
+			int val = vals[from + i];
+			prefix[i] = (i % m == 0) ? val : prefix[i - 1] * val;
+			suffix[i] = val;
+		}
+		for (int i = len - 2; i >= 0; i--) {
+			if ((i + 1) % m != 0) {
+				suffix[i] *= suffix[i + 1];
+			}
+		}
+
+		int maxProduct = Integer.MIN_VALUE;
+		for (int i = 0; i + m <= len; i++) {
+			int product = (i % m == 0) ? prefix[i + m - 1] : suffix[i] * prefix[i + m - 1];
+			maxProduct = Math.max(maxProduct, product);
+		}
+		return maxProduct;
+	}
+
+	/**
+	 * Calculates maxProduct for several window sizes. The Array is read once, and
+	 * for every distinct window size the block prefix and suffix products are
+	 * built once and shared by all of its windows, so every window costs one
+	 * multiplication. A window size that appears more than once is computed only
+	 * once. The total cost is O(n * d) for d distinct window sizes.
+	 * 
+	 * @param a  The array to be processed.
+	 * @param ms The window sizes.
+	 * @return The maximum product for every window size, in the same order as ms
+	 *         (0 for a window size that exceeds the array length).
+	 */
+	public static int[] maxProducts(Array a, int[] ms) {
+		int[] best = new int[ms.length];
+		int[] vals = null;
+		Map<Integer, Integer> known = new HashMap<>();
+
+		for (int t = 0; t < ms.length; t++) {
+			int m = ms[t];
+			if (m <= 0 || m > a.length()) {
+				continue; // same as maxProduct
+			}
+			Integer product = known.get(m);
+			if (product == null) {
+				if (vals == null) {
+					vals = readValues(a);
+				}
+				product = calculateMaxProductInSlidingWindow(vals, m, 0, vals.length - m + 1);
+				known.put(m, product);
+			}
+			best[t] = product;
+		}
+		return best;
+	}
+
+	/**
+	 * Calculates the maximum product of any 'm' consecutive elements without
+	 * overflowing, using the given arithmetic.
+	 * 
+	 * @param a    The array to be processed.
+	 * @param m    The number of consecutive elements for the product calculation.
+	 * @param mode LONG, EXACT or LOG (see Mode).
+	 * @return Maximum product of 'm' consecutive elements, or 0 if 'm' exceeds
+	 *         array length.
+	 * @throws ArithmeticException in LONG mode, if the maximum product does not
+	 *                             fit in a long.
+	 */
+	public static BigInteger maxProduct(Array a, int m, Mode mode) {
+		if (m <= 0 || a.length() < m) {
+			return BigInteger.ZERO;
+		}
+		int[] vals = readValues(a);
+		switch (mode) {
+		case LONG:
+			return BigInteger.valueOf(maxProductLong(vals, m));
+		case EXACT:
+			return maxProductExact(vals, m);
+		default:
+			return maxProductLog(vals, m);
+		}
+	}
+
+	/**
+	 * Reads every element of the Array once.
+	 * 
+	 * @param a The array to be read.
+	 * @return The values of the array.
+	 */
+	private static int[] readValues(Array a) {
+		int[] vals = new int[a.length()];
+		a.readRange(0, vals);
+		return vals;
+	}
+
+	/**
+	 * Multiplies two block products, giving OVERFLOW if the result does not fit
+	 * (-2^63 itself is treated as an overflow). A zero wins over an overflow,
+	 * since the whole product is then 0.
+	 * 
+	 * @param x The first product.
+	 * @param y The second product.
+	 * @return x * y, or OVERFLOW.
+	 */
+	private static long multiply(long x, long y) {
+		if (x == 0 || y == 0) {
+			return 0;
+		}
+		if (x == OVERFLOW || y == OVERFLOW) {
+			return OVERFLOW;
+		}
+		try {
+			return Math.multiplyExact(x, y);
+		} catch (ArithmeticException e) {
+			return OVERFLOW;
+		}
+	}
+
+	/**
+	 * The block prefix/suffix algorithm in long arithmetic.
+	 * 
+	 * @param vals The values.
+	 * @param m    The window size.
+	 * @return The maximum window product.
+	 * @throws ArithmeticException if the maximum product does not fit in a long.
+	 */
+	private static long maxProductLong(int[] vals, int m) {
+		int n = vals.length;
+		long[] prefix = new long[n];
+		long[] suffix = new long[n];
+		int[] negatives = new int[n + 1]; // negatives[i] is the count in vals[0..i-1]
+		for (int i = 0; i < n; i++) {
+			prefix[i] = (i % m == 0) ? vals[i] : multiply(prefix[i - 1], vals[i]);
+			negatives[i + 1] = negatives[i] + (vals[i] < 0 ? 1 : 0);
+		}
+		suffix[n - 1] = vals[n - 1];
+		for (int i = n - 2; i >= 0; i--) {
+			suffix[i] = ((i + 1) % m == 0) ? vals[i] : multiply(vals[i], suffix[i + 1]);
+		}
+
+		long maxProduct = Long.MIN_VALUE;
+		boolean found = false;
+		for (int i = 0; i + m <= n; i++) {
+			long product = (i % m == 0) ? prefix[i + m - 1] : multiply(suffix[i], prefix[i + m - 1]);
+			if (product == OVERFLOW) {
+				// a negative overflow is smaller than any long, a positive one is the answer
+				if ((negatives[i + m] - negatives[i]) % 2 == 0) {
+					throw new ArithmeticException("Window product at " + i + " overflows a long, use EXACT or LOG");
 				}
-			} else {
-				// Update the product for the current window.
-				product = (product / currentElement) * windowLastElement;
+				continue;
 			}
 			maxProduct = Math.max(maxProduct, product);
-			index++;
+			found = true;
+		}
+		if (!found) {
+			throw new ArithmeticException("Every window product overflows a long, use EXACT or LOG");
 		}
 		return maxProduct;
 	}
+
+	/**
+	 * The block prefix/suffix algorithm with exact BigInteger products.
+	 * 
+	 * @param vals The values.
+	 * @param m    The window size.
+	 * @return The maximum window product.
+	 */
+	private static BigInteger maxProductExact(int[] vals, int m) {
+		int n = vals.length;
+		BigInteger[] prefix = new BigInteger[n];
+		BigInteger[] suffix = new BigInteger[n];
+		for (int i = 0; i < n; i++) {
+			BigInteger val = BigInteger.valueOf(vals[i]);
+			prefix[i] = (i % m == 0) ? val : prefix[i - 1].multiply(val);
+		}
+		suffix[n - 1] = BigInteger.valueOf(vals[n - 1]);
+		for (int i = n - 2; i >= 0; i--) {
+			BigInteger val = BigInteger.valueOf(vals[i]);
+			suffix[i] = ((i + 1) % m == 0) ? val : val.multiply(suffix[i + 1]);
+		}
+
+		BigInteger maxProduct = null;
+		for (int i = 0; i + m <= n; i++) {
+			BigInteger product = (i % m == 0) ? prefix[i + m - 1] : suffix[i].multiply(prefix[i + m - 1]);
+			if (maxProduct == null || product.compareTo(maxProduct) > 0) {
+				maxProduct = product;
+			}
+		}
+		return maxProduct;
+	}
+
+	/**
+	 * Ranks every window by the sum of the logarithms of its absolute values and
+	 * its number of negative values, then multiplies out only the best window. A
+	 * window with an even number of negatives and the largest log sum wins; if
+	 * there is none, a window with a zero gives 0; otherwise the negative window
+	 * with the smallest log sum wins. Log sums that are equal within floating
+	 * point error are ranked by position, so use EXACT if such near ties matter.
+	 * 
+	 * @param vals The values.
+	 * @param m    The window size.
+	 * @return The exact product of the best window.
+	 */
+	private static BigInteger maxProductLog(int[] vals, int m) {
+		int n = vals.length;
+		// block prefix/suffix sums, so rounding errors do not pile up along the array
+		double[] prefix = new double[n];
+		double[] suffix = new double[n];
+		int[] negatives = new int[n + 1]; // negatives[i] is the count in vals[0..i-1]
+		for (int i = 0; i < n; i++) {
+			double log = Math.log(Math.abs((double) vals[i])); // -Infinity for 0
+			prefix[i] = (i % m == 0) ? log : prefix[i - 1] + log;
+			suffix[i] = log;
+			negatives[i + 1] = negatives[i] + (vals[i] < 0 ? 1 : 0);
+		}
+		for (int i = n - 2; i >= 0; i--) {
+			if ((i + 1) % m != 0) {
+				suffix[i] += suffix[i + 1];
+			}
+		}
+
+		int bestPositive = -1;
+		int bestNegative = -1;
+		boolean hasZero = false;
+		double positiveSum = 0;
+		double negativeSum = 0;
+		for (int i = 0; i + m <= n; i++) {
+			double sum = (i % m == 0) ? prefix[i + m - 1] : suffix[i] + prefix[i + m - 1];
+			if (sum == Double.NEGATIVE_INFINITY) {
+				hasZero = true;
+			} else if ((negatives[i + m] - negatives[i]) % 2 == 0) {
+				if (bestPositive < 0 || sum > positiveSum) {
+					bestPositive = i;
+					positiveSum = sum;
+				}
+			} else if (bestNegative < 0 || sum < negativeSum) {
+				bestNegative = i;
+				negativeSum = sum;
+			}
+		}
+
+		if (bestPositive >= 0) {
+			return windowProduct(vals, bestPositive, m);
+		}
+		if (hasZero) {
+			return BigInteger.ZERO;
+		}
+		return windowProduct(vals, bestNegative, m);
+	}
+
+	/**
+	 * Multiplies out one window exactly.
+	 * 
+	 * @param vals  The values.
+	 * @param start The first index of the window.
+	 * @param m     The window size.
+	 * @return The exact product of vals[start..start + m - 1].
+	 */
+	private static BigInteger windowProduct(int[] vals, int start, int m) {
+		BigInteger product = BigInteger.ONE;
+		for (int i = start; i < start + m; i++) {
+			product = product.multiply(BigInteger.valueOf(vals[i]));
+		}
+		return product;
+	}
 }
@@ -1,11 +1,16 @@
 package part3;
 
+import java.util.Arrays;
+import java.util.Random;
+
 public class Part3Test {
 	private static int[] mVals = new int[] { 3, 5, 5, 3, 7, 5, 5, 4, 5, 3 };
 	private static int[] exp = new int[] { 720, 28800, 0, 20, 97200, 3888, 259350, 51870, 17010, 576 };
 	private static int[] accesses = new int[] { 46, 50, 30, 34, 64, 60, 110, 120, 520, 506 };
 	private static double accuracyScore = 0.0;
 	private static double efficiencyScore = 0.0;
+	private static int checks = 0;
+	private static int checksPassed = 0;
 
 	public static void main(String[] args) {
 		for (int i = 1; i <= 10; i++) {
@@ -13,6 +18,88 @@ public class Part3Test {
 		}
 		System.out.println("Accuracy Score for Part 3: " + accuracyScore);
 		System.out.println("Efficiency Score for Part 3: " + efficiencyScore);
+
+		runParityTest();
+		System.out.println("Regression checks passed: " + checksPassed + "/" + checks);
+	}
+
+	// maxProduct must give the same result as multiplying every window out, with
+	// the same int wrap-around, on random arrays with zeroes and negatives
+	private static void runParityTest() {
+		Random gen = new Random(345);
+		for (int round = 0; round < 200; round++) {
+			int n = 1 + gen.nextInt(60);
+			int[] vals = new int[n];
+			int bound = round % 2 == 0 ? 10 : 100000; // large values make the products wrap
+			for (int i = 0; i < n; i++) {
+				vals[i] = gen.nextInt(4) == 0 ? 0 : gen.nextInt(2 * bound + 1) - bound;
+			}
+			int m = 1 + gen.nextInt(n + 2); // sometimes longer than the array
+			int expected = bruteForce(vals, m);
+			String which = Arrays.toString(vals) + " with m = " + m;
+
+			int actual = Part3.maxProduct(new Array(vals.clone()), m);
+			check(actual == expected, "maxProduct gave " + actual + ", expected " + expected + " for " + which);
+			actual = Part3.maxProductParallel(new Array(vals.clone()), m);
+			check(actual == expected, "maxProductParallel gave " + actual + ", expected " + expected + " for " + which);
+		}
+
+		// every window size at once, including ones that do not fit
+		for (int round = 0; round < 100; round++) {
+			int n = 1 + gen.nextInt(80);
+			int[] vals = new int[n];
+			for (int i = 0; i < n; i++) {
+				vals[i] = gen.nextInt(5) == 0 ? 0 : gen.nextInt(2001) - 1000;
+			}
+			int[] ms = new int[1 + gen.nextInt(6)];
+			for (int t = 0; t < ms.length; t++) {
+				ms[t] = gen.nextInt(n + 3) - 1;
+			}
+			int[] expected = new int[ms.length];
+			for (int t = 0; t < ms.length; t++) {
+				expected[t] = bruteForce(vals, ms[t]);
+			}
+			int[] actual = Part3.maxProducts(new Array(vals.clone()), ms);
+			check(Arrays.equals(actual, expected), "maxProducts gave " + Arrays.toString(actual) + ", expected "
+					+ Arrays.toString(expected) + " for " + Arrays.toString(vals) + " with ms = " + Arrays.toString(ms));
+		}
+
+		// long enough to be split into overlapping segments
+		int[] big = new int[300000];
+		for (int i = 0; i < big.length; i++) {
+			big[i] = gen.nextInt(50) == 0 ? 0 : gen.nextInt(5) - 2;
+		}
+		for (int m : new int[] { 1, 7, 64, 1000, big.length }) {
+			int expected = Part3.maxProduct(new Array(big.clone()), m);
+			int actual = Part3.maxProductParallel(big.clone(), m);
+			check(actual == expected, "maxProductParallel gave " + actual + ", expected " + expected + " for "
+					+ big.length + " values with m = " + m);
+		}
+	}
+
+	// the product of every window, one at a time
+	private static int bruteForce(int[] vals, int m) {
+		if (m <= 0 || vals.length < m) {
+			return 0;
+		}
+		int best = Integer.MIN_VALUE;
+		for (int i = 0; i + m <= vals.length; i++) {
+			int product = 1;
+			for (int j = i; j < i + m; j++) {
+				product *= vals[j];
+			}
+			best = Math.max(best, product);
+		}
+		return best;
+	}
+
+	private static void check(boolean ok, String msg) {
+		checks++;
+		if (ok) {
+			checksPassed++;
+		} else {
+			System.out.println(msg);
+		}
 	}
 
 	private static void runTest(int testNum) {
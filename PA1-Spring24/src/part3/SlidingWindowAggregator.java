@@ -0,0 +1,150 @@
+package part3;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Aggregates the last w values of a stream with any associative operator
+ * (sum, min, max, product, or a custom one). It uses the two-stack technique:
+ * new values are pushed on a back stack that keeps a running aggregate, and
+ * the oldest values are popped from a front stack that stores, for every
+ * element, the aggregate of it and everything newer in that stack. When the
+ * front stack runs out, the back stack is flipped onto it. Every value is
+ * pushed and flipped once, so add and query are amortized O(1), and the
+ * operator does not need to be commutative or have an inverse.
+ *
+ * @author Doom Al Rajhi
+ * @file: SlidingWindowAggregator.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+public class SlidingWindowAggregator {
+	public static final IntBinaryOperator SUM = (x, y) -> x + y;
+	public static final IntBinaryOperator MIN = Math::min;
+	public static final IntBinaryOperator MAX = Math::max;
+	public static final IntBinaryOperator PRODUCT = (x, y) -> x * y;
+
+	private final int w; // the window size
+	private final IntBinaryOperator op;
+
+	private final int[] back; // the newest values, oldest first
+	private int backSize;
+	private int backAgg; // the aggregate of the back stack
+
+	private final int[] front; // front[i] aggregates the front stack from element i down, oldest on top
+	private int frontSize;
+
+	/**
+	 * Creates an empty window.
+	 * 
+	 * @param w  The number of most recent values to aggregate.
+	 * @param op An associative operator.
+	 */
+	public SlidingWindowAggregator(int w, IntBinaryOperator op) {
+		if (w <= 0) {
+			throw new IllegalArgumentException("The window size must be positive");
+		}
+		this.w = w;
+		this.op = op;
+		this.back = new int[w];
+		this.front = new int[w];
+	}
+
+	/**
+	 * Adds a value, removing the oldest one if the window is full.
+	 * 
+	 * @param val The value to add.
+	 */
+	public void add(int val) {
+		if (size() == w) {
+			evict();
+		}
+		back[backSize] = val;
+		backAgg = (backSize == 0) ? val : op.applyAsInt(backAgg, val);
+		backSize++;
+	}
+
+	/**
+	 * Gets the aggregate of the values in the window, oldest first.
+	 * 
+	 * @return The aggregate of the window.
+	 * @throws IllegalStateException if the window is empty.
+	 */
+	public int query() {
+		if (frontSize == 0 && backSize == 0) {
+			throw new IllegalStateException("The window is empty");
+		}
+		if (frontSize == 0) {
+			return backAgg;
+		}
+		if (backSize == 0) {
+			return front[frontSize - 1];
+		}
+		return op.applyAsInt(front[frontSize - 1], backAgg);
+	}
+
+	/**
+	 * Gets the number of values in the window.
+	 * 
+	 * @return The number of values, at most w.
+	 */
+	public int size() {
+		return frontSize + backSize;
+	}
+
+	/**
+	 * Removes the oldest value.
+	 */
+	private void evict() {
+		if (frontSize == 0) {
+			// flip the back stack, newest first, so the oldest ends on top
+			for (int i = backSize - 1; i >= 0; i--) {
+				int val = back[i];
+				front[frontSize] = (frontSize == 0) ? val : op.applyAsInt(val, front[frontSize - 1]);
+				frontSize++;
+			}
+			backSize = 0;
+		}
+		frontSize--;
+	}
+
+	/**
+	 * Aggregates every window of w consecutive elements of the Array. Each element
+	 * is read once.
+	 * 
+	 * @param a  The array to be processed.
+	 * @param w  The window size.
+	 * @param op An associative operator.
+	 * @return The aggregate of the window starting at every index from 0 to
+	 *         a.length() - w.
+	 */
+	public static int[] aggregate(Array a, int w, IntBinaryOperator op) {
+		if (a.length() < w) {
+			return new int[0];
+		}
+		SlidingWindowAggregator window = new SlidingWindowAggregator(w, op);
+		int[] results = new int[a.length() - w + 1];
+		for (int i = 0; i < a.length(); i++) {
+			window.add(a.getVal(i));
+			if (i >= w - 1) {
+				results[i - w + 1] = window.query();
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Aggregates every window of w consecutive values of an int[].
+	 * 
+	 * @param vals The values to be processed.
+	 * @param w    The window size.
+	 * @param op   An associative operator.
+	 * @return The aggregate of the window starting at every index from 0 to
+	 *         vals.length - w.
+	 */
+	public static int[] aggregate(int[] vals, int w, IntBinaryOperator op) {
+		return aggregate(new Array(vals), w, op);
+	}
+}
@@ -1,35 +1,30 @@
 package part4;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.util.Arrays;
 
+import common.AccessMeter;
+import common.IntReader;
+
 public class Array {
 	private int[] array;// the underlying array
-	private int accessCount;// counts the number of times the array is accessed
+	private final AccessMeter meter;// records the accesses to the array
 
 	// constructor that reads in the items (as Strings) from a file and creates the
 	// array
 	public Array(String fn) {
-		this.accessCount = 0;
+		this.meter = AccessMeter.create();
 		int n = 0;
-		BufferedReader br;
-		try {
-			br = new BufferedReader(new FileReader(fn));
-			String line = br.readLine();
-			if (line != null) {
-				n = Integer.parseInt(line);
+		// the first integer is the number of items, followed by the items
+		try (IntReader in = new IntReader(fn)) {
+			if (in.hasNext()) {
+				n = in.next();
 			}
-			line = br.readLine();
 			int i = 0;
 			array = new int[n];
-			while (line != null && i < n) {
-				int num = Integer.parseInt(line);
-				array[i] = num;
-				line = br.readLine();
+			while (in.hasNext() && i < n) {
+				array[i] = in.next();
 				i++;
 			}
-			br.close();
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
@@ -37,13 +32,20 @@ public class Array {
 
 	// constructor that creates an array of 0's of size <cap>
 	public Array(int cap) {
-		this.accessCount = 0;
+		this.meter = AccessMeter.create();
 		this.array = new int[cap];
 	}
 
 	// constructor that creates an Array based on an array that is passed in
 	public Array(int[] arr) {
+		this(arr, AccessMeter.create());
+	}
+
+	// constructor that creates an Array based on an array that is passed in,
+	// recording its accesses with <meter>
+	public Array(int[] arr, AccessMeter meter) {
 		this.array = arr;
+		this.meter = meter;
 	}
 
 	// gets a String representation of the array
@@ -59,14 +61,14 @@ public class Array {
 	// gets the value at index i
 	public int getVal(int i) {
 		int num = array[i];
-		accessCount++;
+		meter.read(1);
 		return num;
 	}
 
 	// sets the value at index i to val
 	public void setVal(int i, int val) {
 		array[i] = val;
-		accessCount++;
+		meter.write(1);
 	}
 
 	// swaps the values at i and j
@@ -74,12 +76,38 @@ public class Array {
 		int temp = array[i];
 		array[i] = array[j];
 		array[j] = temp;
-		accessCount += 4;
+		meter.swap();
 	}
 
-	// returns the accessCount
+	// copies <len> values from <src> starting at <srcPos> into <dst> starting at
+	// <dstPos> (like System.arraycopy, the ranges may overlap); every value counts
+	// as one read of <src> and one write of <dst>
+	public static void copyRange(Array src, int srcPos, Array dst, int dstPos, int len) {
+		System.arraycopy(src.array, srcPos, dst.array, dstPos, len);
+		src.meter.read(len);
+		dst.meter.write(len);
+	}
+
+	// sets every value in [from, to) to val
+	public void fill(int from, int to, int val) {
+		Arrays.fill(array, from, to, val);
+		meter.write(to - from);
+	}
+
+	// reads the values starting at <from> into <out>, one read per value
+	public void readRange(int from, int[] out) {
+		System.arraycopy(array, from, out, 0, out.length);
+		meter.read(out.length);
+	}
+
+	// returns the accessCount, capped at Integer.MAX_VALUE
 	public int getAccessCount() {
-		return accessCount;
+		return (int) Math.min(meter.count(), Integer.MAX_VALUE);
+	}
+
+	// returns the meter that records the accesses
+	public AccessMeter getAccessMeter() {
+		return meter;
 	}
 
 	// compares the array with the array passed in
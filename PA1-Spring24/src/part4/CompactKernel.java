@@ -0,0 +1,78 @@
+package part4;
+
+/**
+ * This class pushes the zeroes of a plain int[] to the end while keeping the
+ * order of the non-zero values, which is the hot path behind
+ * Part4.pushZeroes(int[]). Every non-zero value is copied down to the next
+ * free position and the rest of the array is zero-filled.
+ *
+ * This is the scalar version. create returns a VectorCompactKernel instead when
+ * it has been compiled from src-vector and the jdk.incubator.vector module is
+ * available (run with --add-modules jdk.incubator.vector). That kernel packs a
+ * whole vector of values at once.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: CompactKernel.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+import common.VectorSupport;
+
+public class CompactKernel {
+	/**
+	 * Creates the fastest kernel available: the Vector API one if the incubator
+	 * module is loaded, the scalar one otherwise.
+	 *
+	 * @return A kernel for pushing zeroes.
+	 */
+	public static CompactKernel create() {
+		return VectorSupport.create(CompactKernel.class, "part4.VectorCompactKernel", CompactKernel::new);
+	}
+
+	/**
+	 * Moves all zeroes of vals to the end, keeping the order of the others.
+	 *
+	 * @param vals The values to be compacted in place.
+	 * @return The number of non-zero values.
+	 */
+	public int pushZeroes(int[] vals) {
+		int write = compactScalar(vals, 0, 0, vals.length);
+		Arrays.fill(vals, write, vals.length, 0);
+		return write;
+	}
+
+	/**
+	 * Copies the non-zero values of vals[from] to vals[to - 1] down to the
+	 * positions starting at write, one value at a time.
+	 *
+	 * @param vals  The values to be compacted.
+	 * @param write The next free position, at most from.
+	 * @param from  The first index to look at.
+	 * @param to    One past the last index to look at.
+	 * @return The next free position after the copy.
+	 */
+	protected int compactScalar(int[] vals, int write, int from, int to) {
+		for (int i = from; i < to; i++) {
+			int v = vals[i];
+			if (v != 0) {
+				vals[write++] = v;
+			}
+		}
+		return write;
+	}
+
+	/**
+	 * Checks if this kernel uses the Vector API.
+	 *
+	 * @return true if the values are packed with vector instructions.
+	 */
+	public boolean isVectorized() {
+		return false;
+	}
+}
@@ -0,0 +1,74 @@
+package part4;
+
+/**
+ * The CompactKernelBenchmark class compares the time taken to push the zeroes
+ * of a random int[] to the end with the scalar CompactKernel and, when run
+ * with --add-modules jdk.incubator.vector, the VectorCompactKernel compiled
+ * from src-vector, for a range of zero densities.
+ *
+ * Usage: java part4.CompactKernelBenchmark [n] [rounds]
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: CompactKernelBenchmark.java
+ * @assignment: Programming Assignment #1
+ * @course: CSC 345 Spring 2024
+ * @date: 02/02/2024
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class CompactKernelBenchmark {
+	static String asterisks = "********************************";
+	// fraction of the values that are zero
+	static double[] densities = new double[] { 0.0, 0.01, 0.1, 0.5, 0.9, 0.99, 1.0 };
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 24;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		CompactKernel scalar = new CompactKernel();
+		CompactKernel vector = CompactKernel.create();
+		System.out.println("*****	Pushing the zeroes of " + n + " integers	*****");
+		System.out.println("Vector API available: " + vector.isVectorized() + "\n");
+
+		Random gen = new Random(System.currentTimeMillis());
+		for (double density : densities) {
+			int[] input = new int[n];
+			for (int i = 0; i < n; i++) {
+				input[i] = gen.nextDouble() < density ? 0 : gen.nextInt(Integer.MAX_VALUE) + 1;
+			}
+
+			int[] expected = null;
+			long scalarTotal = 0;
+			long vectorTotal = 0;
+			for (int round = 0; round <= rounds; round++) {
+				// round 0 only warms up the JIT
+				expected = input.clone();
+				long scalarTime = System.nanoTime();
+				scalar.pushZeroes(expected);
+				scalarTime = System.nanoTime() - scalarTime;
+
+				int[] actual = input.clone();
+				long vectorTime = System.nanoTime();
+				vector.pushZeroes(actual);
+				vectorTime = System.nanoTime() - vectorTime;
+				if (!Arrays.equals(expected, actual)) {
+					System.out.println("The vector kernel does not match at density " + density + "!");
+				}
+
+				if (round > 0) {
+					scalarTotal += scalarTime;
+					vectorTotal += vectorTime;
+				}
+			}
+			System.out.println("Zero density " + density + ": scalar kernel " + scalarTotal / rounds / 1000000
+					+ " ms, " + (vector.isVectorized() ? "vector" : "fallback") + " kernel "
+					+ vectorTotal / rounds / 1000000 + " ms");
+		}
+		System.out.println("\n" + asterisks);
+		System.out.println("Benchmark Finished.");
+	}
+}
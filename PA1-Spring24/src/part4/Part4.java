@@ -1,3 +1,10 @@
+package part4;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
 /**
  * This class provides methods for reading integers from a file and maintaining a list
  * of the top 'm' numbers. It includes functionality to process the data, run validation
@@ -14,15 +21,217 @@
  */
 
 public class Part4 {
+	private static final CompactKernel KERNEL = CompactKernel.create();
+
 	/**
 	 * This class is responsible for including a method in which it focuses on
 	 * rearranging elements within an array. It includes the method 'pushZeroes',
 	 * which moves all zeros in an array to the end while maintaining the order of
 	 * non-zero elements.
 	 * 
+	 * Runs of non-zero elements are found with a single scan and each run is moved
+	 * into place with one bulk copy. Positions a run leaves behind are only
+	 * zero-filled if no later run overwrites them, so every element is read once,
+	 * every moved element is written once, and only the stale part of the tail is
+	 * cleared.
+	 * 
 	 * @param array The array in which zeros are to be moved to the end.
 	 */
 	public static void pushZeroes(Array array) {
+		int n = array.length();
+		// Position where the next non-zero run should be placed
+		int write = 0;
+		// [start, end) pairs of positions that were vacated by a moved run
+		int[] stale = new int[8];
+		int staleCount = 0;
+
+		int i = 0;
+		while (i < n) {
+			// skip zeroes
+			while (i < n && array.getVal(i) == 0) {
+				i++;
+			}
+			if (i >= n) {
+				break;
+			}
+			// find the end of the non-zero run starting at i
+			int start = i;
+			int end = i + 1;
+			while (end < n && array.getVal(end) != 0) {
+				end++;
+			}
+			int len = end - start;
+			if (start != write) {
+				Array.copyRange(array, start, array, write, len);
+				if (staleCount == stale.length) {
+					stale = Arrays.copyOf(stale, 2 * stale.length);
+				}
+				stale[staleCount++] = Math.max(start, write + len);
+				stale[staleCount++] = end;
+			}
+			write += len;
+			// the value at end is the zero that stopped the run, it is not read again
+			i = end + 1;
+		}
+
+		// clear the vacated positions that ended up in the zero tail
+		for (int k = 0; k < staleCount; k += 2) {
+			int from = Math.max(stale[k], write);
+			if (from < stale[k + 1]) {
+				array.fill(from, stale[k + 1], 0);
+			}
+		}
+	}
+
+	/**
+	 * Moves all zeroes of a plain int[] to the end while keeping the order of the
+	 * non-zero values. The Vector API kernel is used when the incubator module is
+	 * loaded, the scalar loop otherwise.
+	 * 
+	 * @param vals The values in which zeros are to be moved to the end.
+	 * @return The number of non-zero values.
+	 */
+	public static int pushZeroes(int[] vals) {
+		return KERNEL.pushZeroes(vals);
+	}
+
+	/**
+	 * Stable partition with an arbitrary predicate: elements that match are moved
+	 * to the front and the others to the back, each side keeping its original
+	 * order. pushZeroes is the special case {@code v -> v != 0}. The Array is read
+	 * once up front, since its access counter is not thread-safe, and only the
+	 * positions whose value changed are written back.
+	 * 
+	 * @param array The array to be partitioned.
+	 * @param pred  The predicate selecting the elements that go first.
+	 * @return The number of elements that matched the predicate.
+	 */
+	public static int stablePartition(Array array, IntPredicate pred) {
+		int n = array.length();
+		int[] vals = new int[n];
+		array.readRange(0, vals);
+		int[] out = new int[n];
+		int matches = stablePartition(vals, out, pred);
+		for (int i = 0; i < n; i++) {
+			if (out[i] != vals[i]) {
+				array.setVal(i, out[i]);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Parallel stable partition of a plain int[] in place.
+	 * 
+	 * @param vals The values to be partitioned.
+	 * @param pred The predicate selecting the elements that go first.
+	 * @return The number of elements that matched the predicate.
+	 */
+	public static int stablePartition(int[] vals, IntPredicate pred) {
+		int[] out = new int[vals.length];
+		int matches = stablePartition(vals, out, pred);
+		System.arraycopy(out, 0, vals, 0, vals.length);
+		return matches;
+	}
+
+	/**
+	 * Writes the stable partition of src into dst. The input is cut into blocks
+	 * and the matches of every block are counted in parallel. An exclusive prefix
+	 * sum of the counts gives each block the first output position of its
+	 * matching and non-matching elements, and the blocks are then scattered to
+	 * their final positions in parallel.
+	 */
+	private static int stablePartition(int[] src, int[] dst, IntPredicate pred) {
+		int n = src.length;
+		if (n == 0) {
+			return 0;
+		}
+		int blocks = (n + PartitionTask.BLOCK_SIZE - 1) / PartitionTask.BLOCK_SIZE;
+		int[] counts = new int[blocks];
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		pool.invoke(new PartitionTask(src, null, pred, counts, null, 0, blocks));
+
+		// exclusive prefix sum of the matches per block
+		int[] offsets = new int[blocks];
+		int matches = 0;
+		for (int b = 0; b < blocks; b++) {
+			offsets[b] = matches;
+			matches += counts[b];
+		}
+		pool.invoke(new PartitionTask(src, dst, pred, offsets, new int[] { matches }, 0, blocks));
+		return matches;
+	}
+
+	/**
+	 * Handles the blocks in [from, to), splitting itself in half while there is
+	 * more than one. Without a destination it counts the matches of every block
+	 * into counts; with one it scatters every block, using counts as the
+	 * exclusive prefix sum of matches and total[0] as the overall match count.
+	 */
+	private static class PartitionTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private static final int BLOCK_SIZE = 1 << 16;
+
+		private final int[] src;
+		private final int[] dst;
+		private final IntPredicate pred;
+		private final int[] counts;
+		private final int[] total;
+		private final int from;
+		private final int to;
+
+		PartitionTask(int[] src, int[] dst, IntPredicate pred, int[] counts, int[] total, int from, int to) {
+			this.src = src;
+			this.dst = dst;
+			this.pred = pred;
+			this.counts = counts;
+			this.total = total;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new PartitionTask(src, dst, pred, counts, total, from, mid),
+						new PartitionTask(src, dst, pred, counts, total, mid, to));
+				return;
+			}
+			int start = from * BLOCK_SIZE;
+			int end = Math.min(start + BLOCK_SIZE, src.length);
+			if (dst == null) {
+				int c = 0;
+				for (int i = start; i < end; i++) {
+					if (pred.test(src[i])) {
+						c++;
+					}
+				}
+				counts[from] = c;
+				return;
+			}
+			// matches before this block go first, non-matches follow all matches
+			int yes = counts[from];
+			int no = total[0] + start - counts[from];
+			for (int i = start; i < end; i++) {
+				int v = src[i];
+				if (pred.test(v)) {
+					dst[yes++] = v;
+				} else {
+					dst[no++] = v;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The original swap-based version of 'pushZeroes'. Every non-zero element that
+	 * sits after the first zero is swapped into place, at 4 accesses per swap. Kept
+	 * as a baseline for comparing access counts.
+	 * 
+	 * @param array The array in which zeros are to be moved to the end.
+	 */
+	public static void pushZeroesBySwap(Array array) {
 		// Position where the next non-zero element should be placed
 		int curZeroIndex = 0;
 
@@ -37,4 +246,4 @@ public class Part4 {
 			}
 		}
 	}
-}
\ No newline at end of file
+}
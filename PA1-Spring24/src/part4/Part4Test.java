@@ -1,12 +1,26 @@
 package part4;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import common.IntFile;
+import common.IntReader;
 
 public class Part4Test {
 	private static int[] accesses = new int[] { 20, 34, 101, 126, 1162 };
 	private static double accuracyScore = 0.0;
 	private static double efficiencyScore = 0.0;
+	private static int checks = 0;
+	private static int checksPassed = 0;
 
 	public static void main(String[] args) {
 		for (int i = 1; i <= 5; i++) {
@@ -14,6 +28,211 @@ public class Part4Test {
 		}
 		System.out.println("Accuracy Score for Part 4: " + accuracyScore);
 		System.out.println("Efficiency Score for Part 4: " + efficiencyScore);
+
+		runScanTest();
+		runReaderTest();
+		runPartitionTest();
+		runIntFileTest();
+		System.out.println("Regression checks passed: " + checksPassed + "/" + checks);
+	}
+
+	// pushZeroes must give the same array as pushZeroesBySwap and read every
+	// index only once, so it never needs more accesses than the swap version
+	private static void runScanTest() {
+		Random gen = new Random(345);
+		int[] sparse = new int[100000]; // about 95% zeroes
+		for (int i = 0; i < sparse.length; i++) {
+			sparse[i] = gen.nextInt(20) == 0 ? gen.nextInt(1000) + 1 : 0;
+		}
+		int[][] cases = { { 7, 0, 0 }, { 0, 0, 3, 0, 5, 6, 0 }, { 1, 2, 3 }, { 0, 0, 0 }, {}, sparse };
+
+		for (int[] vals : cases) {
+			Array scan = new Array(vals.clone());
+			Array swap = new Array(vals.clone());
+			Part4.pushZeroes(scan);
+			Part4.pushZeroesBySwap(swap);
+			check(scan.toString().equals(swap.toString()), "pushZeroes does not match pushZeroesBySwap for "
+					+ (vals.length <= 10 ? Arrays.toString(vals) : vals.length + " values"));
+			check(scan.getAccessCount() <= swap.getAccessCount(), "pushZeroes used " + scan.getAccessCount()
+					+ " accesses, pushZeroesBySwap " + swap.getAccessCount());
+		}
+
+		// no value moves, so every index is read exactly once
+		Array trailing = new Array(new int[] { 7, 0, 0 });
+		Part4.pushZeroes(trailing);
+		check(trailing.getAccessCount() == 3, "pushZeroes read [7, 0, 0] with " + trailing.getAccessCount()
+				+ " accesses, expected 3");
+
+		Array scan = new Array(sparse.clone());
+		Array swap = new Array(sparse.clone());
+		Part4.pushZeroes(scan);
+		Part4.pushZeroesBySwap(swap);
+		check(scan.getAccessCount() < swap.getAccessCount(), "pushZeroes is not cheaper than pushZeroesBySwap on a "
+				+ "mostly zero array: " + scan.getAccessCount() + " vs " + swap.getAccessCount());
+	}
+
+	// the Array files must load the same through IntReader as through the old
+	// BufferedReader and Integer.parseInt, and malformed integers must still fail
+	private static void runReaderTest() {
+		for (int i = 1; i <= 5; i++) {
+			String fn = "array" + i + ".txt";
+			check(new Array(fn).toString().equals(Arrays.toString(getCopy(fn))), "IntReader does not match "
+					+ "Integer.parseInt for " + fn);
+		}
+
+		int[] parsed = readAll("1,-2 2147483647\t-2147483648:0\r\n-0\n");
+		check(Arrays.equals(parsed, new int[] { 1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, 0 }),
+				"IntReader read " + Arrays.toString(parsed));
+
+		String[] malformed = { "3000000000", "2147483648", "-2147483649", "12a3", "abc", "-", "1-2" };
+		for (String text : malformed) {
+			boolean rejected = false;
+			try {
+				readAll(text + "\n");
+			} catch (NumberFormatException e) {
+				rejected = true;
+			}
+			check(rejected, "IntReader accepted \"" + text + "\"");
+		}
+	}
+
+	// stablePartition must keep both sides in their original order, on arrays of
+	// one block and of several, and match pushZeroesBySwap for v != 0
+	private static void runPartitionTest() {
+		Random gen = new Random(345);
+		IntPredicate[] preds = { v -> v != 0, v -> v % 2 == 0, v -> v > 50 };
+		String[] names = { "v != 0", "v % 2 == 0", "v > 50" };
+		for (int n : new int[] { 0, 1, 100, 200000 }) {
+			int[] vals = new int[n];
+			for (int i = 0; i < n; i++) {
+				vals[i] = gen.nextInt(3) == 0 ? 0 : gen.nextInt(201) - 100;
+			}
+			for (int p = 0; p < preds.length; p++) {
+				int[] expected = new int[n];
+				int matches = partitionLoop(vals, expected, preds[p]);
+				String which = " for " + n + " values with " + names[p];
+
+				int[] copy = vals.clone();
+				Array array = new Array(copy);
+				int count = Part4.stablePartition(array, preds[p]);
+				check(count == matches && Arrays.equals(copy, expected), "stablePartition(Array) is wrong" + which);
+
+				copy = vals.clone();
+				count = Part4.stablePartition(copy, preds[p]);
+				check(count == matches && Arrays.equals(copy, expected), "stablePartition(int[]) is wrong" + which);
+			}
+
+			int[] swapped = vals.clone();
+			Part4.pushZeroesBySwap(new Array(swapped));
+			int[] partitioned = vals.clone();
+			Part4.stablePartition(partitioned, v -> v != 0);
+			check(Arrays.equals(partitioned, swapped), "stablePartition does not match pushZeroesBySwap for " + n
+					+ " values");
+		}
+	}
+
+	// binary files must give back exactly the integers written, in both modes,
+	// and a damaged payload must be reported
+	private static void runIntFileTest() {
+		Random gen = new Random(345);
+		int[] vals = new int[100000]; // more than one read buffer
+		for (int i = 0; i < vals.length; i++) {
+			vals[i] = i % 3 == 0 ? gen.nextInt() : gen.nextInt(2001) - 1000;
+		}
+		vals[0] = Integer.MIN_VALUE;
+		vals[1] = Integer.MAX_VALUE;
+		vals[2] = 0;
+
+		try {
+			File file = File.createTempFile("part4test", ".bin");
+			file.deleteOnExit();
+			String fn = file.getPath();
+			for (boolean varint : new boolean[] { false, true }) {
+				String mode = varint ? "varint" : "fixed-width";
+				IntFile.write(fn, vals, varint);
+				check(IntFile.isBinary(fn), "IntFile did not write the header in " + mode + " mode");
+				check(Arrays.equals(readFile(fn), vals), "IntFile round trip failed in " + mode + " mode");
+
+				IntFile.convert("array5.txt", fn, varint);
+				check(new Array(fn).toString().equals(new Array("array5.txt").toString()),
+						"array5.txt converted in " + mode + " mode does not load the same");
+
+				// flip one bit of the payload
+				IntFile.write(fn, vals, varint);
+				try (RandomAccessFile raf = new RandomAccessFile(fn, "rw")) {
+					long pos = IntFile.HEADER_SIZE + 1000;
+					raf.seek(pos);
+					int b = raf.read();
+					raf.seek(pos);
+					raf.write(b ^ 0x10);
+				}
+				boolean detected = false;
+				try {
+					readFile(fn);
+				} catch (IOException e) {
+					detected = true;
+				}
+				check(detected, "A damaged " + mode + " file was read without an error");
+			}
+		} catch (IOException e) {
+			check(false, "IntFile test failed: " + e);
+		}
+	}
+
+	private static int[] readFile(String fn) throws IOException {
+		int[] vals = new int[16];
+		int n = 0;
+		try (IntReader in = new IntReader(fn)) {
+			while (in.hasNext()) {
+				if (n == vals.length) {
+					vals = Arrays.copyOf(vals, 2 * n);
+				}
+				vals[n++] = in.next();
+			}
+		}
+		return Arrays.copyOf(vals, n);
+	}
+
+	// the matches in order followed by the others in order, one value at a time
+	private static int partitionLoop(int[] vals, int[] out, IntPredicate pred) {
+		int matches = 0;
+		for (int v : vals) {
+			if (pred.test(v)) {
+				matches++;
+			}
+		}
+		int front = 0;
+		int back = matches;
+		for (int v : vals) {
+			if (pred.test(v)) {
+				out[front++] = v;
+			} else {
+				out[back++] = v;
+			}
+		}
+		return matches;
+	}
+
+	private static int[] readAll(String text) {
+		int[] vals = new int[text.length()];
+		int n = 0;
+		try (IntReader in = new IntReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)))) {
+			while (in.hasNext()) {
+				vals[n++] = in.next();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return Arrays.copyOf(vals, n);
+	}
+
+	private static void check(boolean ok, String msg) {
+		checks++;
+		if (ok) {
+			checksPassed++;
+		} else {
+			System.out.println(msg);
+		}
 	}
 
 	private static void runTest(int testNum) {
@@ -42,6 +42,26 @@ public class Array<T> {
 	accessCount+=4;
     }
 
+    //copies <len> values from <src> starting at <srcPos> into <dst> starting at
+    //<dstPos>; every value counts as one read of <src> and one write of <dst>
+    public static <T> void copyRange(Array<T> src, int srcPos, Array<T> dst, int dstPos, int len) {
+	System.arraycopy(src.array, srcPos, dst.array, dstPos, len);
+	src.accessCount+=len;
+	dst.accessCount+=len;
+    }
+
+    //sets every value in [from, to) to val
+    public void fill(int from, int to, T val) {
+	Arrays.fill(array, from, to, val);
+	accessCount+=to-from;
+    }
+
+    //reads the values starting at <from> into <out>, one read per value
+    public void readRange(int from, T[] out) {
+	System.arraycopy(array, from, out, 0, out.length);
+	accessCount+=out.length;
+    }
+
     //returns the accessCount
     public int getAccessCount() {
 	return accessCount;
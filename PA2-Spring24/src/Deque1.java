@@ -196,11 +196,11 @@ public class Deque1<T> {
 
 		Array<T> newDequeArray = new Array<>(newSize);
 
-		for (int i = 0; i < size; i++) {
-			newDequeArray.setVal(i, array.getVal(front));
-			// iterate to next by updating the pointer
-			front = (front + 1) % array.length();
-		}
+		// copy from front to the end of the array, then the part that wrapped
+		// around to the start
+		int firstPart = Math.min(size, array.length() - front);
+		Array.copyRange(array, front, newDequeArray, 0, firstPart);
+		Array.copyRange(array, 0, newDequeArray, firstPart, size - firstPart);
 
 		// Update front and rear pointers
 		front = 0;
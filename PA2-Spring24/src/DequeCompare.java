@@ -1,7 +1,16 @@
 /**
  * The DequeCompare class is used to compare the performance of two different
  * Deque implementations. It measures the time taken to add elements to the end
- * of each Deque implementation using the addLast method.
+ * of each Deque implementation using the addLast method. The primitive IntDeque
+ * and LongDeque are timed the same way, which shows how much the boxing in the
+ * generic deques costs. Every deque's access count is reset before its timed
+ * run, so the counts printed at the end only cover the timed additions.
+ *
+ * The two pairs of counts are not comparable. Deque and Deque1 keep their count
+ * in their Array, which a resize replaces, so their count only covers the last
+ * array: the copies into it and the additions after it. IntDeque and LongDeque
+ * keep their own count, which includes every resize copy. The counts are
+ * printed on separate lines for that reason.
  *
  *
  * @author Doom Al Rajhi
@@ -27,6 +36,7 @@ public class DequeCompare {
 		System.out.println("Testing...\n\n");
 
 		// Timing for Deque
+		q.resetAccessCount();
 		startTime = System.currentTimeMillis();
 		for (int i = 0; i < n; i++) {
 			q.addLast(1);
@@ -39,6 +49,7 @@ public class DequeCompare {
 		System.out.println("\n*****Testing Second Deque*****\n");
 		System.err.println("Testing...\n");
 		// Timing for Deque1
+		q1.resetAccessCount();
 		startTime = System.currentTimeMillis();
 		for (int i = 0; i < n; i++) {
 			q1.addLast(1);
@@ -48,6 +59,40 @@ public class DequeCompare {
 		System.out.println("Second Deque took: " + (endTime - startTime) + " milliseconds.");
 		System.err.println(asterisks);
 
+		System.out.println("\n*****Testing IntDeque*****\n");
+		System.err.println("Testing...\n");
+		// Timing for IntDeque
+		IntDeque qi = new IntDeque();
+		qi.resetAccessCount();
+		startTime = System.currentTimeMillis();
+		for (int i = 0; i < n; i++) {
+			qi.addLast(1);
+		}
+		endTime = System.currentTimeMillis();
+		System.err.println(asterisks);
+		System.out.println("IntDeque took: " + (endTime - startTime) + " milliseconds.");
+		System.err.println(asterisks);
+
+		System.out.println("\n*****Testing LongDeque*****\n");
+		System.err.println("Testing...\n");
+		// Timing for LongDeque
+		LongDeque ql = new LongDeque();
+		ql.resetAccessCount();
+		startTime = System.currentTimeMillis();
+		for (int i = 0; i < n; i++) {
+			ql.addLast(1);
+		}
+		endTime = System.currentTimeMillis();
+		System.err.println(asterisks);
+		System.out.println("LongDeque took: " + (endTime - startTime) + " milliseconds.");
+		System.err.println(asterisks);
+
+		System.out.println("\nAccess counts of the last Array (earlier arrays are lost on resize): Deque "
+				+ q.getAccessCount() + ", Deque1 " + q1.getAccessCount());
+		System.out.println("Access counts including every resize copy: IntDeque " + qi.getAccessCount()
+				+ ", LongDeque " + ql.getAccessCount());
+		System.out.println("(The two lines count differently and are not comparable.)");
+
 		System.out.println("\n\nTesting Finished.");
 	}
 }
@@ -1,3 +1,4 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Random;
@@ -31,6 +32,103 @@ public class DequeTest {
 		score += testPeekFirstS();
 		score += testPeekLastS();
 		System.out.println("\nExpected Score: " + score);
+
+		// not graded: the primitive deques must behave like Deque<Integer>
+		System.out.println("\n*****Comparing IntDeque and LongDeque with Deque<Integer>*****\n");
+		System.out.println("Primitive deques match: " + testPrimitiveDeques());
+	}
+
+	// runs the same random operations on java.util.ArrayDeque, a Deque<Integer>,
+	// an IntDeque and a LongDeque and compares every returned value and the sizes
+	private static boolean testPrimitiveDeques() {
+		Random rand = new Random(345);
+		ArrayDeque<Integer> exp = new ArrayDeque<Integer>();
+		Deque<Integer> boxed = new Deque<Integer>();
+		IntDeque ints = new IntDeque();
+		LongDeque longs = new LongDeque();
+		try {
+			for (int op = 0; op < 20000; op++) {
+				int num = rand.nextInt(2001) - 1000;
+				int choice = rand.nextInt(6);
+				// Deque mishandles addFirst on an empty deque and adding after it was
+				// emptied, so it starts with addLast and always keeps one value
+				if (exp.isEmpty()) {
+					choice = 1;
+				} else if (exp.size() == 1 && choice >= 2) {
+					choice = choice % 2;
+				}
+				int e;
+				int b;
+				int a;
+				long l;
+				switch (choice) {
+				case 0:
+					exp.addFirst(num);
+					boxed.addFirst(num);
+					ints.addFirst(num);
+					longs.addFirst(num);
+					continue;
+				case 1:
+					exp.addLast(num);
+					boxed.addLast(num);
+					ints.addLast(num);
+					longs.addLast(num);
+					continue;
+				case 2:
+					e = exp.removeFirst();
+					b = boxed.removeFirst();
+					a = ints.removeFirst();
+					l = longs.removeFirst();
+					break;
+				case 3:
+					e = exp.removeLast();
+					b = boxed.removeLast();
+					a = ints.removeLast();
+					l = longs.removeLast();
+					break;
+				case 4:
+					e = exp.peekFirst();
+					b = boxed.peekFirst();
+					a = ints.peekFirst();
+					l = longs.peekFirst();
+					break;
+				default:
+					e = exp.peekLast();
+					b = boxed.peekLast();
+					a = ints.peekLast();
+					l = longs.peekLast();
+					break;
+				}
+				int size = exp.size();
+				if (e != b || e != a || e != l || boxed.size() != size || ints.size() != size || longs.size() != size) {
+					System.out.println("Operation " + op + " differs: expected " + e + ", Deque " + b + ", IntDeque " + a
+							+ ", LongDeque " + l);
+					return false;
+				}
+			}
+		} catch (EmptyDequeException ex) {
+			ex.printStackTrace();
+			return false;
+		}
+
+		// the primitive deques report an empty deque the same way
+		boolean intThrows = false;
+		boolean longThrows = false;
+		try {
+			new IntDeque().removeFirst();
+		} catch (EmptyDequeException ex) {
+			intThrows = true;
+		}
+		try {
+			new LongDeque().peekLast();
+		} catch (EmptyDequeException ex) {
+			longThrows = true;
+		}
+		if (!intThrows || !longThrows) {
+			System.out.println("An empty primitive deque did not throw EmptyDequeException.");
+			return false;
+		}
+		return true;
 	}
 
 	private static void setUpMap() {
@@ -1,4 +1,6 @@
 public class EmptyDequeException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public EmptyDequeException() {
 	super();
     }
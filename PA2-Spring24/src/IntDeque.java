@@ -0,0 +1,202 @@
+/**
+ * This class implements a deque (double-ended queue) of primitive ints using a
+ * dynamic circular int[]. It has the same methods as Deque, but stores the
+ * values directly instead of as boxed Integers in an Object[], so adding a
+ * value does not allocate (or look up) an Integer and reading one does not
+ * follow a pointer.
+ *
+ * The array grows to twice its size when it is full and shrinks to half when
+ * it is at most a quarter full, but never below the default capacity. Like
+ * Array, every read or write of the array adds one to the access count, and a
+ * resize counts one read and one write per element copied.
+ *
+ * @author Doom Al Rajhi
+ * @file: IntDeque.java
+ * @assignment: Programming Assignment #2
+ * @course: CSC 345 Spring 2024
+ * @date: 02/12/2024
+ * @version 1.0
+ */
+public class IntDeque {
+
+	private static final int DEFAULT_SIZE = 16;
+	private int[] array;
+	private int size;
+	private int front; // index of the first element
+	private int accessCount;
+
+	/**
+	 * Constructs an empty deque with a default initial capacity.
+	 */
+	public IntDeque() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Constructs an empty deque with the specified initial capacity.
+	 * 
+	 * @param cap the initial capacity of the deque
+	 */
+	public IntDeque(int cap) {
+		this.array = new int[Math.max(cap, 1)];
+		this.size = 0;
+		this.front = 0;
+	}
+
+	/**
+	 * Inserts the specified element at the front of this deque.
+	 * 
+	 * @param num the element to add
+	 */
+	public void addFirst(int num) {
+		if (size == array.length) {
+			resize(array.length * 2);
+		}
+		front = front == 0 ? array.length - 1 : front - 1;
+		array[front] = num;
+		accessCount++;
+		size++;
+	}
+
+	/**
+	 * Inserts the specified element at the end of this deque.
+	 * 
+	 * @param num the element to add
+	 */
+	public void addLast(int num) {
+		if (size == array.length) {
+			resize(array.length * 2);
+		}
+		array[index(size)] = num;
+		accessCount++;
+		size++;
+	}
+
+	/**
+	 * Removes and returns the first element from this deque.
+	 * 
+	 * @return the first element from this deque
+	 * @throws EmptyDequeException if this deque is empty
+	 */
+	public int removeFirst() throws EmptyDequeException {
+		int num = peekFirst();
+		front = index(1);
+		size--;
+		shrinkIfSparse();
+		return num;
+	}
+
+	/**
+	 * Removes and returns the last element from this deque.
+	 * 
+	 * @return the last element from this deque
+	 * @throws EmptyDequeException if this deque is empty
+	 */
+	public int removeLast() throws EmptyDequeException {
+		int num = peekLast();
+		size--;
+		shrinkIfSparse();
+		return num;
+	}
+
+	/**
+	 * Retrieves, but does not remove, the first element of this deque.
+	 * 
+	 * @return the first element of this deque
+	 * @throws EmptyDequeException if this deque is empty
+	 */
+	public int peekFirst() throws EmptyDequeException {
+		if (isEmpty()) {
+			throw new EmptyDequeException();
+		}
+		accessCount++;
+		return array[front];
+	}
+
+	/**
+	 * Retrieves, but does not remove, the last element of this deque.
+	 * 
+	 * @return the last element of this deque
+	 * @throws EmptyDequeException if this deque is empty
+	 */
+	public int peekLast() throws EmptyDequeException {
+		if (isEmpty()) {
+			throw new EmptyDequeException();
+		}
+		accessCount++;
+		return array[index(size - 1)];
+	}
+
+	/**
+	 * Returns true if this deque contains no elements.
+	 * 
+	 * @return true if this deque is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this deque.
+	 * 
+	 * @return the number of elements in this deque
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the array index of the i-th element from the front.
+	 * 
+	 * @param i the position from the front, between 0 and the capacity
+	 * @return the index in the circular array
+	 */
+	private int index(int i) {
+		int idx = front + i;
+		return idx >= array.length ? idx - array.length : idx;
+	}
+
+	/**
+	 * Halves the array when it is at most a quarter full.
+	 */
+	private void shrinkIfSparse() {
+		if (array.length > DEFAULT_SIZE && size <= array.length / 4) {
+			resize(Math.max(DEFAULT_SIZE, array.length / 2));
+		}
+	}
+
+	/**
+	 * Moves the elements to a new array of the given capacity, starting at index
+	 * 0.
+	 * 
+	 * @param newSize the new capacity
+	 */
+	private void resize(int newSize) {
+		int[] newDequeArray = new int[newSize];
+		// copy from front to the end of the array, then the part that wrapped
+		// around to the start
+		int firstPart = Math.min(size, array.length - front);
+		System.arraycopy(array, front, newDequeArray, 0, firstPart);
+		System.arraycopy(array, 0, newDequeArray, firstPart, size - firstPart);
+		accessCount += 2 * size;
+
+		front = 0;
+		array = newDequeArray;
+	}
+
+	/**
+	 * Returns the access count of the underlying array.
+	 * 
+	 * @return the access count
+	 */
+	public int getAccessCount() {
+		return accessCount;
+	}
+
+	/**
+	 * Resets the access count of the underlying array to zero.
+	 */
+	public void resetAccessCount() {
+		accessCount = 0;
+	}
+}
@@ -0,0 +1,232 @@
+/**
+ * This interface describes how the accesses to an Array are recorded. Array
+ * calls read and write for every value it gets or sets and swap for every
+ * swap, which counts as 4 accesses. There are three meters:
+ * 
+ * NOOP records nothing. When it is the only meter a program uses, the JIT
+ * inlines its empty methods and the metering disappears from the hot loops.
+ * 
+ * counting() adds every access to one long counter, which does not overflow
+ * past 2^31 accesses like the old int field did.
+ * 
+ * detailed() keeps separate counters for reads, writes and swaps.
+ * 
+ * The meter of an Array created without one is chosen by the accessMeter
+ * system property (noop, counting or detailed) and is counting by default, so
+ * the tests keep their exact counts.
+ *
+ *
+ * @author Doom Al Rajhi
+ * @file: AccessMeter.java
+ * @assignment: Programming Assignment #3
+ * @course: CSC 345 Spring 2024
+ * @date: 03/26/2024
+ * @version 1.0
+ */
+public interface AccessMeter {
+	/**
+	 * A meter that records nothing and always reports 0.
+	 */
+	AccessMeter NOOP = new AccessMeter() {
+		@Override
+		public void read(int n) {
+		}
+
+		@Override
+		public void write(int n) {
+		}
+
+		@Override
+		public void swap() {
+		}
+
+		@Override
+		public long count() {
+			return 0;
+		}
+
+		@Override
+		public void reset() {
+		}
+	};
+
+	/**
+	 * Creates a meter that counts all accesses in one long.
+	 *
+	 * @return A new meter at 0.
+	 */
+	static AccessMeter counting() {
+		return new Counting();
+	}
+
+	/**
+	 * Creates a meter that counts reads, writes and swaps separately.
+	 *
+	 * @return A new meter at 0.
+	 */
+	static AccessMeter detailed() {
+		return new Detailed();
+	}
+
+	/**
+	 * Creates the meter named by the accessMeter system property.
+	 *
+	 * @return NOOP, a new detailed meter or a new counting meter.
+	 */
+	static AccessMeter create() {
+		String mode = System.getProperty("accessMeter", "counting");
+		if (mode.equalsIgnoreCase("noop")) {
+			return NOOP;
+		}
+		if (mode.equalsIgnoreCase("detailed")) {
+			return detailed();
+		}
+		return counting();
+	}
+
+	/**
+	 * Records that n values were read.
+	 *
+	 * @param n The number of values.
+	 */
+	void read(int n);
+
+	/**
+	 * Records that n values were written.
+	 *
+	 * @param n The number of values.
+	 */
+	void write(int n);
+
+	/**
+	 * Records one swap of two values.
+	 */
+	void swap();
+
+	/**
+	 * Gets the total number of accesses, with a swap counting as 4.
+	 *
+	 * @return The number of accesses since the last reset.
+	 */
+	long count();
+
+	/**
+	 * Sets all counters back to 0.
+	 */
+	void reset();
+
+	/**
+	 * Gets the number of reads, not counting the reads done by swaps.
+	 *
+	 * @return The number of reads, or 0 if this meter does not keep them apart.
+	 */
+	default long reads() {
+		return 0;
+	}
+
+	/**
+	 * Gets the number of writes, not counting the writes done by swaps.
+	 *
+	 * @return The number of writes, or 0 if this meter does not keep them apart.
+	 */
+	default long writes() {
+		return 0;
+	}
+
+	/**
+	 * Gets the number of swaps.
+	 *
+	 * @return The number of swaps, or 0 if this meter does not keep them apart.
+	 */
+	default long swaps() {
+		return 0;
+	}
+
+	/**
+	 * Counts every access in one long.
+	 */
+	final class Counting implements AccessMeter {
+		private long count;
+
+		@Override
+		public void read(int n) {
+			count += n;
+		}
+
+		@Override
+		public void write(int n) {
+			count += n;
+		}
+
+		@Override
+		public void swap() {
+			count += 4;
+		}
+
+		@Override
+		public long count() {
+			return count;
+		}
+
+		@Override
+		public void reset() {
+			count = 0;
+		}
+	}
+
+	/**
+	 * Counts reads, writes and swaps separately.
+	 */
+	final class Detailed implements AccessMeter {
+		private long reads;
+		private long writes;
+		private long swaps;
+
+		@Override
+		public void read(int n) {
+			reads += n;
+		}
+
+		@Override
+		public void write(int n) {
+			writes += n;
+		}
+
+		@Override
+		public void swap() {
+			swaps++;
+		}
+
+		@Override
+		public long count() {
+			return reads + writes + 4 * swaps;
+		}
+
+		@Override
+		public void reset() {
+			reads = 0;
+			writes = 0;
+			swaps = 0;
+		}
+
+		@Override
+		public long reads() {
+			return reads;
+		}
+
+		@Override
+		public long writes() {
+			return writes;
+		}
+
+		@Override
+		public long swaps() {
+			return swaps;
+		}
+
+		@Override
+		public String toString() {
+			return reads + " reads, " + writes + " writes, " + swaps + " swaps";
+		}
+	}
+}
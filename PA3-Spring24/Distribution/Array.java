@@ -1,15 +1,21 @@
-public class Array {
+import java.util.Arrays;
+
+public class Array implements IntArray {
 	private int[] array;// the underlying array
-	private int accessCount;// counts the number of times the array is accessed
+	private final AccessMeter meter;// records the accesses to the array
 
 	// constructor that creates an array of size <cap>
 	public Array(int cap) {
-		this.accessCount = 0;
-		this.array = new int[cap];
+		this(new int[cap]);
 	}
 
 	public Array(int[] a) {
-		this.accessCount = 0;
+		this(a, AccessMeter.create());
+	}
+
+	// constructor that wraps <a> and records its accesses with <meter>
+	public Array(int[] a, AccessMeter meter) {
+		this.meter = meter;
 		this.array = a;
 	}
 
@@ -21,14 +27,14 @@ public class Array {
 	// gets the value at index i
 	public int getVal(int i) {
 		int num = array[i];
-		accessCount++;
+		meter.read(1);
 		return num;
 	}
 
 	// sets the value at index i to val
 	public void setVal(int i, int val) {
 		array[i] = val;
-		accessCount++;
+		meter.write(1);
 	}
 
 	// swaps the values at i and j
@@ -36,16 +42,53 @@ public class Array {
 		int temp = array[i];
 		array[i] = array[j];
 		array[j] = temp;
-		accessCount += 4;
+		meter.swap();
+	}
+
+	// copies <len> values from <src> starting at <srcPos> into <dst> starting at
+	// <dstPos> (like System.arraycopy, the ranges may overlap); every value counts
+	// as one read of <src> and one write of <dst>
+	public static void copyRange(Array src, int srcPos, Array dst, int dstPos, int len) {
+		System.arraycopy(src.array, srcPos, dst.array, dstPos, len);
+		src.meter.read(len);
+		dst.meter.write(len);
+	}
+
+	// sets every value in [from, to) to val
+	public void fill(int from, int to, int val) {
+		Arrays.fill(array, from, to, val);
+		meter.write(to - from);
 	}
 
-	// returns the accessCount
+	// reads the values starting at <from> into <out>, one read per value
+	public void readRange(int from, int[] out) {
+		System.arraycopy(array, from, out, 0, out.length);
+		meter.read(out.length);
+	}
+
+	// writes the values of <in> starting at index <to>, one write per value
+	public void writeRange(int to, int[] in) {
+		System.arraycopy(in, 0, array, to, in.length);
+		meter.write(in.length);
+	}
+
+	// returns the accessCount, capped at Integer.MAX_VALUE
 	public int getAccessCount() {
-		return accessCount;
+		return (int) Math.min(meter.count(), Integer.MAX_VALUE);
+	}
+
+	// returns the meter that records the accesses
+	public AccessMeter getAccessMeter() {
+		return meter;
+	}
+
+	// creates an Array of 0's of size <cap>
+	public IntArray allocate(int cap) {
+		return new Array(cap);
 	}
 
 	// resets accessCount to 0--used only for testing!!!
 	public void resetAccessCount() {
-		this.accessCount = 0;
+		meter.reset();
 	}
 }
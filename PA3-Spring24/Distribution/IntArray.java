@@ -0,0 +1,134 @@
+/**
+ * This interface is the contract the Sort methods need from an array of ints:
+ * reading, writing and swapping values by index, and counting those accesses.
+ * It is implemented by the heap-backed Array and by OffHeapArray, so the same
+ * sorting algorithms run on either one. The temporary arrays the merge sorts
+ * need are created with allocate, which gives an array of the same kind.
+ *
+ * Ranges are moved with readRange, writeRange, fill and copyRange, which move a
+ * whole block at once but still count one access per value.
+ *
+ * @author Doom Al Rajhi
+ * @file: IntArray.java
+ * @assignment: Programming Assignment #3
+ * @course: CSC 345 Spring 2024
+ * @date: 03/26/2024
+ * @version 1.0
+ */
+
+public interface IntArray {
+	// the size of the blocks copyRange moves between arrays of different kinds
+	int COPY_BLOCK = 1 << 12;
+
+	/**
+	 * Gets the number of values in the array.
+	 * 
+	 * @return the length of the array
+	 */
+	int length();
+
+	/**
+	 * Gets the value at index i.
+	 * 
+	 * @param i the index
+	 * @return the value at i
+	 */
+	int getVal(int i);
+
+	/**
+	 * Sets the value at index i to val.
+	 * 
+	 * @param i   the index
+	 * @param val the new value
+	 */
+	void setVal(int i, int val);
+
+	/**
+	 * Swaps the values at i and j.
+	 * 
+	 * @param i the first index
+	 * @param j the second index
+	 */
+	void swap(int i, int j);
+
+	/**
+	 * Reads the values starting at from into out, one read per value.
+	 * 
+	 * @param from the index of the first value
+	 * @param out  the array to fill, out.length values are read
+	 */
+	void readRange(int from, int[] out);
+
+	/**
+	 * Writes the values of in starting at index to, one write per value.
+	 * 
+	 * @param to the index of the first value
+	 * @param in the values to write
+	 */
+	void writeRange(int to, int[] in);
+
+	/**
+	 * Sets every value in [from, to) to val, one write per value.
+	 * 
+	 * @param from the first index
+	 * @param to   one past the last index
+	 * @param val  the value
+	 */
+	void fill(int from, int to, int val);
+
+	/**
+	 * Copies len values from src starting at srcPos into dst starting at dstPos.
+	 * Like System.arraycopy, src and dst may be the same array with overlapping
+	 * ranges. Every value counts as one read of src and one write of dst.
+	 * 
+	 * @param src    the array to copy from
+	 * @param srcPos the index of the first value to copy
+	 * @param dst    the array to copy to
+	 * @param dstPos the index the first value is copied to
+	 * @param len    the number of values
+	 */
+	static void copyRange(IntArray src, int srcPos, IntArray dst, int dstPos, int len) {
+		if (src instanceof Array && dst instanceof Array) {
+			Array.copyRange((Array) src, srcPos, (Array) dst, dstPos, len);
+			return;
+		}
+		if (src instanceof OffHeapArray && dst instanceof OffHeapArray) {
+			OffHeapArray.copyRange((OffHeapArray) src, srcPos, (OffHeapArray) dst, dstPos, len);
+			return;
+		}
+		// mixed arrays are copied in blocks through an int[]; copying backwards
+		// when the ranges overlap that way keeps the values that are still needed
+		int block = Math.min(len, COPY_BLOCK);
+		int[] buf = new int[block];
+		boolean backwards = src == dst && srcPos < dstPos;
+		for (int done = 0; done < len; done += block) {
+			int n = Math.min(block, len - done);
+			if (n != buf.length) {
+				buf = new int[n];
+			}
+			int offset = backwards ? len - done - n : done;
+			src.readRange(srcPos + offset, buf);
+			dst.writeRange(dstPos + offset, buf);
+		}
+	}
+
+	/**
+	 * Gets the number of accesses made so far, with a swap counting as 4.
+	 * 
+	 * @return the access count
+	 */
+	int getAccessCount();
+
+	/**
+	 * Sets the access count back to 0.
+	 */
+	void resetAccessCount();
+
+	/**
+	 * Creates an array of the same kind with cap values, all 0.
+	 * 
+	 * @param cap the length of the new array
+	 * @return the new array
+	 */
+	IntArray allocate(int cap);
+}
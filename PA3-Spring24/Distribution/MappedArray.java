@@ -0,0 +1,199 @@
+/**
+ * This class is an array of ints backed by a binary file that is mapped into
+ * memory with FileChannel.map, so that the Sort methods sort the file in place
+ * without reading it into the heap and writing it back. The file holds the
+ * values as consecutive little-endian 4-byte ints. Every 1 GB chunk of the
+ * file gets its own mapping, so files larger than the heap (and larger than
+ * 2 GB) can be mapped.
+ *
+ * A file written by PA1's IntFile in fixed-width mode starts with a 24-byte
+ * header (the magic "INTB", the flags, the count and the CRC32C of the values).
+ * Such a file is mapped with MappedArray(fn, true): the whole header is checked,
+ * including the checksum of the values, only the values after it are mapped,
+ * and flush stores the new checksum so IntReader still accepts the file. A
+ * varint IntFile has no fixed place for each value and is refused. The format
+ * is never guessed: MappedArray(fn) maps the whole file as values, so a plain
+ * int file may start with any value, including the magic.
+ *
+ * Changes are written to the file by the operating system when it sees fit;
+ * flush forces them out and close flushes and releases the file. The temporary
+ * arrays the merge sorts allocate are plain OffHeapArrays, not files.
+ *
+ * @author Doom Al Rajhi
+ * @file: MappedArray.java
+ * @assignment: Programming Assignment #3
+ * @course: CSC 345 Spring 2024
+ * @date: 03/26/2024
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+public class MappedArray extends OffHeapArray implements AutoCloseable {
+	// the IntFile header: magic, flags, count and checksum, little-endian
+	private static final int MAGIC = 0x42544E49; // "INTB"
+	private static final int VARINT = 1;
+	private static final int HEADER_SIZE = 24;
+	private static final int CHECKSUM_POS = 16;
+
+	private final FileChannel channel; // the mapped file
+	private final long start; // the position of the first value, after any header
+	private final MappedByteBuffer[] mappings; // one mapping per chunk
+
+	/**
+	 * Maps an existing plain int file for reading and writing. Every 4 bytes of
+	 * the file are a value; no header is looked for.
+	 * 
+	 * @param fn the name of the file
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public MappedArray(String fn) throws IOException {
+		this(fn, false);
+	}
+
+	/**
+	 * Maps an existing plain int file or fixed-width IntFile for reading and
+	 * writing.
+	 * 
+	 * @param fn      the name of the file
+	 * @param intFile true if the file is an IntFile, false if it is a plain int
+	 *                file
+	 * @throws IOException if the file cannot be opened or mapped, or intFile is
+	 *                     true and the file is not a fixed-width IntFile with a
+	 *                     valid header and checksum
+	 */
+	public MappedArray(String fn, boolean intFile) throws IOException {
+		this(FileChannel.open(Paths.get(fn), StandardOpenOption.READ, StandardOpenOption.WRITE), intFile);
+	}
+
+	private MappedArray(FileChannel channel, boolean intFile) throws IOException {
+		this(channel, intFile ? checkHeader(channel) : 0);
+	}
+
+	private MappedArray(FileChannel channel, long start) throws IOException {
+		this(channel, start, map(channel, start, (channel.size() - start) / 4));
+	}
+
+	private MappedArray(FileChannel channel, long start, MappedByteBuffer[] mappings) throws IOException {
+		super(mappings, (channel.size() - start) / 4, AccessMeter.create());
+		this.channel = channel;
+		this.start = start;
+		this.mappings = mappings;
+		if (start == HEADER_SIZE && checksum() != readHeader(channel).getLong(CHECKSUM_POS)) {
+			channel.close();
+			throw new IOException("The IntFile checksum does not match its values");
+		}
+	}
+
+	// checks the header of a fixed-width IntFile and returns where the values
+	// start; the checksum is checked once the values are mapped. The channel is
+	// closed if the file is refused.
+	private static long checkHeader(FileChannel channel) throws IOException {
+		try {
+			ByteBuffer header = readHeader(channel);
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+				throw new IOException("Not an IntFile, the header is missing");
+			}
+			if ((header.getInt() & VARINT) != 0) {
+				throw new IOException("Varint files cannot be mapped, convert them to fixed-width ints");
+			}
+			long count = header.getLong();
+			long bytes = channel.size() - HEADER_SIZE;
+			if (bytes % 4 != 0 || count != bytes / 4) {
+				throw new IOException("The header count " + count + " does not match the file size");
+			}
+			return HEADER_SIZE;
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	// reads the first HEADER_SIZE bytes, or fewer if the file is shorter
+	private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) <= 0) {
+				break;
+			}
+		}
+		return header.flip();
+	}
+
+	// the CRC32C of the mapped values
+	private long checksum() {
+		CRC32C crc = new CRC32C();
+		for (MappedByteBuffer m : mappings) {
+			crc.update(m.duplicate());
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Creates (or truncates) a binary int file of 0's with the given number of
+	 * values and maps it.
+	 * 
+	 * @param fn     the name of the file
+	 * @param length the number of values
+	 * @return the mapped array
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public static MappedArray create(String fn, long length) throws IOException {
+		try (FileChannel ch = FileChannel.open(Paths.get(fn), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			if (length > 0) {
+				// writing the last byte sets the file size, the rest reads as 0
+				ch.write(ByteBuffer.allocate(1), 4 * length - 1);
+			}
+		}
+		return new MappedArray(fn);
+	}
+
+	private static MappedByteBuffer[] map(FileChannel channel, long start, long length) throws IOException {
+		MappedByteBuffer[] mappings = new MappedByteBuffer[(int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT)];
+		for (int c = 0; c < mappings.length; c++) {
+			long first = (long) c << CHUNK_SHIFT;
+			long ints = Math.min(length - first, 1L << CHUNK_SHIFT);
+			mappings[c] = channel.map(FileChannel.MapMode.READ_WRITE, start + (first << 2), ints << 2);
+			mappings[c].order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return mappings;
+	}
+
+	/**
+	 * Writes every changed page back to the file. For an IntFile, the checksum
+	 * of the values is computed again and stored in the header first.
+	 * 
+	 * @throws IOException if the header cannot be written
+	 */
+	public void flush() throws IOException {
+		if (start == HEADER_SIZE) {
+			ByteBuffer sum = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, checksum());
+			while (sum.hasRemaining()) {
+				channel.write(sum, CHECKSUM_POS + sum.position());
+			}
+		}
+		for (MappedByteBuffer m : mappings) {
+			m.force();
+		}
+	}
+
+	/**
+	 * Flushes the changes and closes the file. The mappings stay valid until
+	 * they are garbage collected, but should not be used after this.
+	 * 
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+		channel.close();
+	}
+}
@@ -0,0 +1,303 @@
+/**
+ * This class is an array of ints stored outside the Java heap, so that large
+ * datasets do not add to the garbage collector's work and are not capped at
+ * the 2^31 - 1 elements of an int[]. The values are kept in direct
+ * ByteBuffers of up to 2^28 ints (1 GB) each, and a long index is split into
+ * a chunk number and an offset with a shift and a mask.
+ *
+ * The long-indexed methods reach every element. The int-indexed methods of
+ * IntArray let the Sort methods run on an OffHeapArray unchanged, for arrays
+ * of up to 2^31 - 1 elements, since Sort uses int indices.
+ *
+ * Accesses are recorded with an AccessMeter, in the same way as Array.
+ *
+ * @author Doom Al Rajhi
+ * @file: OffHeapArray.java
+ * @assignment: Programming Assignment #3
+ * @course: CSC 345 Spring 2024
+ * @date: 03/26/2024
+ * @version 1.0
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+public class OffHeapArray implements IntArray {
+	// every chunk holds 2^CHUNK_SHIFT ints
+	static final int CHUNK_SHIFT = 28;
+	static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+	private final ByteBuffer[] chunks; // the off-heap storage
+	private final long length; // the number of values
+	private final AccessMeter meter; // records the accesses to the array
+
+	/**
+	 * Creates an off-heap array of 0's.
+	 * 
+	 * @param length the number of values
+	 */
+	public OffHeapArray(long length) {
+		this(length, AccessMeter.create());
+	}
+
+	/**
+	 * Creates an off-heap array of 0's that records its accesses with meter.
+	 * 
+	 * @param length the number of values
+	 * @param meter  the meter for the accesses
+	 */
+	public OffHeapArray(long length, AccessMeter meter) {
+		this(allocateChunks(length), length, meter);
+	}
+
+	/**
+	 * Creates an off-heap copy of a.
+	 * 
+	 * @param a the values to copy
+	 */
+	public OffHeapArray(int[] a) {
+		this(a.length);
+		for (int i = 0; i < a.length; i++) {
+			chunks[i >>> CHUNK_SHIFT].putInt((int) (i & CHUNK_MASK) << 2, a[i]);
+		}
+	}
+
+	/**
+	 * Wraps buffers that already hold the values, 2^CHUNK_SHIFT ints per buffer
+	 * except the last one, in little-endian order.
+	 * 
+	 * @param chunks the buffers
+	 * @param length the number of values
+	 * @param meter  the meter for the accesses
+	 */
+	protected OffHeapArray(ByteBuffer[] chunks, long length, AccessMeter meter) {
+		this.chunks = chunks;
+		this.length = length;
+		this.meter = meter;
+	}
+
+	private static ByteBuffer[] allocateChunks(long length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Negative length: " + length);
+		}
+		ByteBuffer[] chunks = new ByteBuffer[(int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT)];
+		for (int c = 0; c < chunks.length; c++) {
+			long ints = Math.min(length - ((long) c << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+			chunks[c] = ByteBuffer.allocateDirect((int) ints << 2).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return chunks;
+	}
+
+	/**
+	 * Gets the number of values, which may be more than an int can hold.
+	 * 
+	 * @return the length of the array
+	 */
+	public long longLength() {
+		return length;
+	}
+
+	/**
+	 * Gets the value at index i.
+	 * 
+	 * @param i the index
+	 * @return the value at i
+	 */
+	public int getVal(long i) {
+		int num = chunks[(int) (i >>> CHUNK_SHIFT)].getInt((int) (i & CHUNK_MASK) << 2);
+		meter.read(1);
+		return num;
+	}
+
+	/**
+	 * Sets the value at index i to val.
+	 * 
+	 * @param i   the index
+	 * @param val the new value
+	 */
+	public void setVal(long i, int val) {
+		chunks[(int) (i >>> CHUNK_SHIFT)].putInt((int) (i & CHUNK_MASK) << 2, val);
+		meter.write(1);
+	}
+
+	/**
+	 * Swaps the values at i and j.
+	 * 
+	 * @param i the first index
+	 * @param j the second index
+	 */
+	public void swap(long i, long j) {
+		ByteBuffer ci = chunks[(int) (i >>> CHUNK_SHIFT)];
+		ByteBuffer cj = chunks[(int) (j >>> CHUNK_SHIFT)];
+		int pi = (int) (i & CHUNK_MASK) << 2;
+		int pj = (int) (j & CHUNK_MASK) << 2;
+		int temp = ci.getInt(pi);
+		ci.putInt(pi, cj.getInt(pj));
+		cj.putInt(pj, temp);
+		meter.swap();
+	}
+
+	/**
+	 * Reads the values starting at from into out, one read per value.
+	 * 
+	 * @param from the index of the first value
+	 * @param out  the array to fill, out.length values are read
+	 */
+	public void readRange(long from, int[] out) {
+		int done = 0;
+		while (done < out.length) {
+			IntBuffer ints = view(from + done);
+			int n = Math.min(ints.remaining(), out.length - done);
+			ints.get(out, done, n);
+			done += n;
+		}
+		meter.read(out.length);
+	}
+
+	/**
+	 * Writes the values of in starting at index to, one write per value.
+	 * 
+	 * @param to the index of the first value
+	 * @param in the values to write
+	 */
+	public void writeRange(long to, int[] in) {
+		int done = 0;
+		while (done < in.length) {
+			IntBuffer ints = view(to + done);
+			int n = Math.min(ints.remaining(), in.length - done);
+			ints.put(in, done, n);
+			done += n;
+		}
+		meter.write(in.length);
+	}
+
+	/**
+	 * Sets every value in [from, to) to val, one write per value.
+	 * 
+	 * @param from the first index
+	 * @param to   one past the last index
+	 * @param val  the value
+	 */
+	public void fill(long from, long to, int val) {
+		for (long i = from; i < to; i++) {
+			chunks[(int) (i >>> CHUNK_SHIFT)].putInt((int) (i & CHUNK_MASK) << 2, val);
+		}
+		meter.write((int) (to - from));
+	}
+
+	/**
+	 * Copies len values from src starting at srcPos into dst starting at dstPos,
+	 * straight from buffer to buffer. Like System.arraycopy, src and dst may be
+	 * the same array with overlapping ranges. Every value counts as one read of
+	 * src and one write of dst.
+	 * 
+	 * @param src    the array to copy from
+	 * @param srcPos the index of the first value to copy
+	 * @param dst    the array to copy to
+	 * @param dstPos the index the first value is copied to
+	 * @param len    the number of values
+	 */
+	public static void copyRange(OffHeapArray src, long srcPos, OffHeapArray dst, long dstPos, int len) {
+		// every piece stays inside one chunk of each array, and when the ranges
+		// overlap it is no longer than their distance, so it never overwrites its
+		// own source; copying backwards keeps the values that are still needed
+		boolean same = src == dst;
+		long step = same ? Math.abs(dstPos - srcPos) : len;
+		boolean backwards = same && srcPos < dstPos;
+		long done = step == 0 ? len : 0;
+		while (done < len) {
+			long n = Math.min(len - done, step);
+			long s;
+			long d;
+			if (backwards) {
+				long srcEnd = srcPos + len - done;
+				long dstEnd = dstPos + len - done;
+				n = Math.min(n, Math.min(((srcEnd - 1) & CHUNK_MASK) + 1, ((dstEnd - 1) & CHUNK_MASK) + 1));
+				s = srcEnd - n;
+				d = dstEnd - n;
+			} else {
+				s = srcPos + done;
+				d = dstPos + done;
+				n = Math.min(n, Math.min((1L << CHUNK_SHIFT) - (s & CHUNK_MASK), (1L << CHUNK_SHIFT) - (d & CHUNK_MASK)));
+			}
+			dst.chunks[(int) (d >>> CHUNK_SHIFT)].put((int) (d & CHUNK_MASK) << 2, src.chunks[(int) (s >>> CHUNK_SHIFT)],
+					(int) (s & CHUNK_MASK) << 2, (int) n << 2);
+			done += n;
+		}
+		src.meter.read(len);
+		dst.meter.write(len);
+	}
+
+	// the ints from index i to the end of its chunk
+	private IntBuffer view(long i) {
+		ByteBuffer chunk = chunks[(int) (i >>> CHUNK_SHIFT)].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		chunk.position((int) (i & CHUNK_MASK) << 2);
+		return chunk.asIntBuffer();
+	}
+
+	/**
+	 * Gets the number of values as an int.
+	 * 
+	 * @return the length of the array
+	 * @throws ArithmeticException if the array has more than 2^31 - 1 values
+	 */
+	@Override
+	public int length() {
+		return Math.toIntExact(length);
+	}
+
+	@Override
+	public int getVal(int i) {
+		return getVal((long) i);
+	}
+
+	@Override
+	public void setVal(int i, int val) {
+		setVal((long) i, val);
+	}
+
+	@Override
+	public void swap(int i, int j) {
+		swap((long) i, (long) j);
+	}
+
+	@Override
+	public void readRange(int from, int[] out) {
+		readRange((long) from, out);
+	}
+
+	@Override
+	public void writeRange(int to, int[] in) {
+		writeRange((long) to, in);
+	}
+
+	@Override
+	public void fill(int from, int to, int val) {
+		fill((long) from, (long) to, val);
+	}
+
+	@Override
+	public int getAccessCount() {
+		return (int) Math.min(meter.count(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets the meter that records the accesses.
+	 * 
+	 * @return the meter
+	 */
+	public AccessMeter getAccessMeter() {
+		return meter;
+	}
+
+	@Override
+	public void resetAccessCount() {
+		meter.reset();
+	}
+
+	@Override
+	public IntArray allocate(int cap) {
+		return new OffHeapArray(cap);
+	}
+}
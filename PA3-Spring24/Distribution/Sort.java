@@ -21,9 +21,9 @@ public class Sort {
 	 * 
 	 * @param A the array to be sorted
 	 */
-	public static void iterativeMerge(Array A) {
+	public static void iterativeMerge(IntArray A) {
 		int size = A.length();
-		Array tempArray = new Array(size); // temp array
+		IntArray tempArray = A.allocate(size); // temp array
 
 		// iterating through the subarrays and starting from size 1 then 2, 4, ..., N/2
 		for (int subArrSize = 1; subArrSize < size; subArrSize *= 2) {
@@ -46,10 +46,8 @@ public class Sort {
 	 *                   second subarray
 	 * @param rightEnd   the end index of the second subarray
 	 */
-	private static void merge(Array A, Array tempArray, int leftStart, int midIndices, int rightEnd) {
-		for (int i = leftStart; i <= rightEnd; i++) {
-			tempArray.setVal(i, A.getVal(i));
-		}
+	private static void merge(IntArray A, IntArray tempArray, int leftStart, int midIndices, int rightEnd) {
+		IntArray.copyRange(A, leftStart, tempArray, leftStart, rightEnd - leftStart + 1);
 
 		// current location of the first index in the first array
 		int i = leftStart;
@@ -74,17 +72,10 @@ public class Sort {
 		}
 
 		// Copy any remaining elements from the first subarray
-		while (i <= midIndices) {
-			A.setVal(k, tempArray.getVal(i));
-			i++;
-			k++;
-		}
+		IntArray.copyRange(tempArray, i, A, k, midIndices - i + 1);
+		k += midIndices - i + 1;
 		// Copy any remaining elements from the second subarray
-		while (j <= rightEnd) {
-			A.setVal(k, tempArray.getVal(j));
-			j++;
-			k++;
-		}
+		IntArray.copyRange(tempArray, j, A, k, rightEnd - j + 1);
 	}
 
 	/**
@@ -96,12 +87,12 @@ public class Sort {
 	 * @param A    the array to be sorted
 	 * @param size the size of sections to be initially sorted with Insertion Sort
 	 */
-	public static void insertMerge(Array A, int size) {
+	public static void insertMerge(IntArray A, int size) {
 		for (int start = 0; start < A.length(); start += size) {
 			inserSort(A, start, Math.min(start + size, A.length()));
 		}
 
-		Array tempArray = new Array(A.length()); // temp array
+		IntArray tempArray = A.allocate(A.length()); // temp array
 
 		// iterating through the subarrays and starting from size 1 then 2, 4, ..., N/2
 		for (int subArrSize = size; subArrSize < A.length(); subArrSize *= 2) {
@@ -125,7 +116,7 @@ public class Sort {
 	 * 
 	 * @param end   The ending index of the sublist within the array `A`
 	 */
-	private static void inserSort(Array A, int start, int end) {
+	private static void inserSort(IntArray A, int start, int end) {
 		for (int i = start + 1; i < end; i++) {
 			int j = i;
 			while (j - 1 >= start) {
@@ -146,8 +137,8 @@ public class Sort {
 	 * 
 	 * @param A the array to be sorted
 	 */
-	public static void threeWayMerge(Array A) {
-		Array tempArray = new Array(A.length());
+	public static void threeWayMerge(IntArray A) {
+		IntArray tempArray = A.allocate(A.length());
 		mergeSortAux(A, tempArray, 0, A.length() - 1);
 	}
 
@@ -159,7 +150,7 @@ public class Sort {
 	 * @param i         the start index of the sublist to be sorted
 	 * @param j         the end index of the sublist to be sorted
 	 */
-	private static void mergeSortAux(Array A, Array tempArray, int i, int j) {
+	private static void mergeSortAux(IntArray A, IntArray tempArray, int i, int j) {
 		if (i >= j)
 			return;
 		int third = (j - i) / 3; // by 3 sublists
@@ -191,7 +182,7 @@ public class Sort {
 	 *                  index of the third sublist.
 	 * @param end       The ending index of the third sublist in the original array.
 	 */
-	private static void merge(Array a, Array tempArray, int start, int mid, int mid2, int end) {
+	private static void merge(IntArray a, IntArray tempArray, int start, int mid, int mid2, int end) {
 		int i = start; // Starting index for the first sublist
 		int j = mid + 1; // Starting index for the second sublist
 		int k = mid2; // Starting index for the third sublist
@@ -265,9 +256,7 @@ public class Sort {
 		mergeElementsFromThreeSubLists(a, tempArray, mid, mid2, end, i, j, k, l);
 
 		// Copy the merged elements back into the original array
-		for (i = start; i <= end; i++) {
-			a.setVal(i, tempArray.getVal(i));
-		}
+		IntArray.copyRange(tempArray, start, a, start, end - start + 1);
 	}
 
 	/**
@@ -285,28 +274,18 @@ public class Sort {
 	 * @param l         The current index in the temporary array where elements are
 	 *                  being merged.
 	 */
-	private static void mergeElementsFromThreeSubLists(Array a, Array tempArray, int mid, int mid2, int end, int i,
-			int j, int k, int l) {
+	private static void mergeElementsFromThreeSubLists(IntArray a, IntArray tempArray, int mid, int mid2, int end,
+			int i, int j, int k, int l) {
 		// Copy any remaining elements from the first sublist
-		while (i <= mid) {
-			tempArray.setVal(l, a.getVal(i));
-			l++;
-			i++;
-		}
+		IntArray.copyRange(a, i, tempArray, l, mid - i + 1);
+		l += mid - i + 1;
 
 		// Copy any remaining elements from the second sublist
-		while (j <= mid2 - 1) {
-			tempArray.setVal(l, a.getVal(j));
-			l++;
-			j++;
-		}
+		IntArray.copyRange(a, j, tempArray, l, mid2 - j);
+		l += mid2 - j;
 
 		// Copy any remaining elements from the third sublist
-		while (k <= end) {
-			tempArray.setVal(l, a.getVal(k));
-			l++;
-			k++;
-		}
+		IntArray.copyRange(a, k, tempArray, l, end - k + 1);
 	}
 
 	/**
@@ -316,7 +295,7 @@ public class Sort {
 	 * 
 	 * @param A the array to be sorted
 	 */
-	public static void fiveWayQuick(Array A) {
+	public static void fiveWayQuick(IntArray A) {
 		fiveWayQuickSort(A, 0, A.length() - 1);
 	}
 
@@ -329,7 +308,7 @@ public class Sort {
 	 * @param low  The starting index of the sublist to be sorted.
 	 * @param high The ending index of the sublist to be sorted.
 	 */
-	private static void fiveWayQuickSort(Array A, int low, int high) {
+	private static void fiveWayQuickSort(IntArray A, int low, int high) {
 		if (low < high) {
 			int p1 = A.getVal(low);
 			int p2 = A.getVal(high);
@@ -380,7 +359,7 @@ public class Sort {
 	 * @param A the array to be sorted
 	 * @param d the maximum distance from the sorted position
 	 */
-	public static void locSelect(Array A, int d) {
+	public static void locSelect(IntArray A, int d) {
 		for (int i = 0; i < A.length(); i++) {
 			// Initialize the index of the minimum value to the current position
 			int minIndex = i;
@@ -406,7 +385,7 @@ public class Sort {
 	 * @param A the array to be sorted
 	 * @param d the maximum distance from the sorted position
 	 */
-	public static void locHeap(Array A, int d) {
+	public static void locHeap(IntArray A, int d) {
 		for (int i = (int) Math.floor(A.length() / 2); i >= 0; i--) {
 			sink(A, i, A.length());
 		}
@@ -429,7 +408,7 @@ public class Sort {
 	 * @param i    The index of the element to be sunk.
 	 * @param size The size of the heap.
 	 */
-	private static void sink(Array A, int i, int size) {
+	private static void sink(IntArray A, int i, int size) {
 		int maxNode = i;
 		int leftChild = 2 * i + 1;
 		int rightChild = 2 * i + 2;
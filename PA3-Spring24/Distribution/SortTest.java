@@ -1,11 +1,24 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 /**
  * <bold>ADD to.String() in the LinkedList class to run the testcases!!!!!!!!!!</bold>
  */
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
 import org.junit.jupiter.api.Test;
 
 class SortTest {
+	private static final int INTB = 0x42544E49; // the IntFile magic
+	private static final int HEADER_SIZE = 24;
 
 	// Print header for each test
 	private void printTestHeader(String testName) {
@@ -174,6 +187,155 @@ class SortTest {
 		printTestFooter(testName, duration);
 	}
 
+	@Test
+	void testOffHeapArray() {
+		String testName = "Sorts on OffHeapArray";
+		printTestHeader(testName);
+		long startTime = System.currentTimeMillis();
+		System.out.println("Testing...");
+		for (Consumer<IntArray> sort : intArraySorts()) {
+			for (int i = 0; i < 10000; i++) {
+				int n = i % 100 == 0 ? 5000 : 40; // now and then long enough for several merge passes
+				int[] randomizedArray = ArrayGen.getRand(n, 5);
+				OffHeapArray arr = new OffHeapArray(randomizedArray);
+
+				sort.accept(arr);
+
+				assertTrue(isSorted(arr));
+				assertArrayEquals(sortedCopy(randomizedArray), values(arr));
+			}
+		}
+		long duration = System.currentTimeMillis() - startTime;
+		printTestFooter(testName, duration);
+	}
+
+	@Test
+	void testMappedArray() throws IOException {
+		String testName = "Sorts on MappedArray";
+		printTestHeader(testName);
+		long startTime = System.currentTimeMillis();
+		System.out.println("Testing...");
+		File file = File.createTempFile("sorttest", ".bin");
+		file.deleteOnExit();
+		for (Consumer<IntArray> sort : intArraySorts()) {
+			for (int i = 0; i < 20; i++) {
+				int[] randomizedArray = ArrayGen.getRand(i == 0 ? 5000 : 40, 5);
+				try (MappedArray arr = MappedArray.create(file.getPath(), randomizedArray.length)) {
+					arr.writeRange(0, randomizedArray);
+					sort.accept(arr);
+				}
+
+				// the sorted values must be in the file itself
+				try (MappedArray arr = new MappedArray(file.getPath())) {
+					assertTrue(isSorted(arr));
+					assertArrayEquals(sortedCopy(randomizedArray), values(arr));
+				}
+				assertTrue(file.length() == 4L * randomizedArray.length);
+			}
+		}
+		long duration = System.currentTimeMillis() - startTime;
+		printTestFooter(testName, duration);
+	}
+
+	@Test
+	void testMappedIntFile() throws IOException {
+		String testName = "Sort on a mapped IntFile";
+		printTestHeader(testName);
+		long startTime = System.currentTimeMillis();
+		System.out.println("Testing...");
+		File file = File.createTempFile("sorttest", ".bin");
+		file.deleteOnExit();
+		int[] randomizedArray = ArrayGen.getRand(5000, 5);
+		writeIntFile(file, randomizedArray, 0);
+
+		// only the values after the header are sorted
+		try (MappedArray arr = new MappedArray(file.getPath(), true)) {
+			assertTrue(arr.length() == randomizedArray.length);
+			Sort.iterativeMerge(arr);
+		}
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+		assertTrue(bytes.getInt(0) == INTB && bytes.getLong(8) == randomizedArray.length);
+		int[] sorted = new int[randomizedArray.length];
+		bytes.position(HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(sorted);
+		assertArrayEquals(sortedCopy(randomizedArray), sorted);
+		// the stored checksum must be the one of the sorted values
+		CRC32C crc = new CRC32C();
+		crc.update(bytes.array(), HEADER_SIZE, bytes.capacity() - HEADER_SIZE);
+		assertTrue(bytes.getLong(16) == crc.getValue());
+
+		// varint files have no fixed place for each value
+		writeIntFile(file, randomizedArray, 1);
+		assertTrue(isRefused(file));
+
+		// a damaged value is caught by the checksum before anything is sorted
+		writeIntFile(file, randomizedArray, 0);
+		byte[] damaged = Files.readAllBytes(file.toPath());
+		damaged[HEADER_SIZE + 100] ^= 1;
+		Files.write(file.toPath(), damaged);
+		assertTrue(isRefused(file));
+		assertArrayEquals(damaged, Files.readAllBytes(file.toPath()));
+
+		// a plain int file is never taken for an IntFile, even if it starts with
+		// what looks like a header
+		writeIntFile(file, randomizedArray, 0);
+		int[] header = new int[HEADER_SIZE / 4];
+		try (MappedArray arr = new MappedArray(file.getPath())) {
+			assertTrue(arr.length() == HEADER_SIZE / 4 + randomizedArray.length);
+			arr.readRange(0, header);
+			Sort.iterativeMerge(arr);
+			assertTrue(isSorted(arr));
+		}
+		int[] all = Arrays.copyOf(header, header.length + randomizedArray.length);
+		System.arraycopy(randomizedArray, 0, all, header.length, randomizedArray.length);
+		try (MappedArray arr = new MappedArray(file.getPath())) {
+			assertArrayEquals(sortedCopy(all), values(arr));
+		}
+		long duration = System.currentTimeMillis() - startTime;
+		printTestFooter(testName, duration);
+	}
+
+	// checks that the file cannot be mapped as an IntFile
+	private static boolean isRefused(File file) {
+		try {
+			new MappedArray(file.getPath(), true).close();
+			return false;
+		} catch (IOException e) {
+			return true;
+		}
+	}
+
+	// writes the values behind an IntFile header; the values stay 4-byte ints
+	// even with the varint flag, since only the header is looked at
+	private static void writeIntFile(File file, int[] vals, int flags) throws IOException {
+		ByteBuffer bytes = ByteBuffer.allocate(HEADER_SIZE + 4 * vals.length).order(ByteOrder.LITTLE_ENDIAN);
+		bytes.position(HEADER_SIZE);
+		for (int v : vals) {
+			bytes.putInt(v);
+		}
+		CRC32C crc = new CRC32C();
+		crc.update(bytes.array(), HEADER_SIZE, 4 * vals.length);
+		bytes.putInt(0, INTB).putInt(4, flags).putLong(8, vals.length).putLong(16, crc.getValue());
+		Files.write(file.toPath(), bytes.array());
+	}
+
+	// the Sort methods that work on any IntArray
+	private static List<Consumer<IntArray>> intArraySorts() {
+		return List.of(Sort::iterativeMerge, Sort::threeWayMerge, a -> Sort.insertMerge(a, 5), Sort::fiveWayQuick,
+				a -> Sort.locSelect(a, 5), a -> Sort.locHeap(a, 5));
+	}
+
+	private static int[] sortedCopy(int[] vals) {
+		int[] sorted = vals.clone();
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	private static int[] values(IntArray arr) {
+		int[] vals = new int[arr.length()];
+		arr.readRange(0, vals);
+		return vals;
+	}
+
 	// Helper method to populate the custom Array with values from an int[]
 	static Array settingValues(Array arr, int[] randomArr) {
 		for (int i = 0; i < randomArr.length; i++) {
@@ -192,6 +354,16 @@ class SortTest {
 		return true;
 	}
 
+	// Helper method to check if any IntArray is sorted
+	private boolean isSorted(IntArray array) {
+		for (int i = 0; i < array.length() - 1; i++) {
+			if (array.getVal(i) > array.getVal(i + 1)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 //	// Helper method to check if a LinkedList instance is sorted
 	private boolean isSorted(LinkedList list) {
 		if (list.isEmpty() || list.head().next() == null) {